@@ -14,6 +14,18 @@ CREATE INDEX job_search_index ON public.jobs USING gin (search_vector)
 -- index for fuzzy search on column: name, which is job title, crucial for our fuzzy search performance
 CREATE INDEX idx_jobs_name_trgm ON public.jobs USING gin (name gin_trgm_ops)
 
+-- index for the notification inbox: keyset pages of one recipient, newest first
+CREATE INDEX idx_notifications_recipient_created ON public.notifications (recipient_id, created_at DESC, id DESC)
+
+-- index for company broadcasts (recipient_id is null), merged into the inbox of followers
+CREATE INDEX idx_notifications_company_created ON public.notifications (company_id, created_at DESC, id DESC) WHERE recipient_id IS NULL
+
+-- index for the companies a user follows, read on every inbox page; the primary key starts with company_id
+CREATE INDEX idx_company_follow_user ON public.company_follow (user_id, company_id)
+
+-- index for the outbox relay: only unpublished events, so it stays small however many rows are published
+CREATE INDEX idx_outbox_events_unpublished ON public.outbox_events (id) WHERE published_at IS NULL
+
 -- Create functions, triggers
 
 -- Trigger function:
@@ -2,12 +2,15 @@ package com.example.Job.config;
 
 import com.example.Job.exception.CustomAsyncExceptionHandler;
 import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.AsyncConfigurer;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.task.DelegatingSecurityContextAsyncTaskExecutor;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
 
 @Configuration
 @EnableAsync
@@ -23,6 +26,34 @@ public class AsyncConfig implements AsyncConfigurer {
         return executor;
     }
 
+    // Per-user lookups of a request run in parallel on this pool (e.g. isSaved and appliedAt of a job detail).
+    // The security context is propagated so the lookups still see the caller's JWT,
+    // and a full queue runs the task on the caller thread instead of failing the request.
+    @Bean(name = "userLookupExecutor")
+    public Executor userLookupExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(8);
+        executor.setMaxPoolSize(16);
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("UserLookup_");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return new DelegatingSecurityContextAsyncTaskExecutor(executor);
+    }
+
+    // Notification fan-out to company followers: few long-running tasks, kept off the default pool
+    // so a company with many followers cannot delay the other @Async work
+    @Bean(name = "notificationFanoutExecutor")
+    public Executor notificationFanoutExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(4);
+        executor.setQueueCapacity(500);
+        executor.setThreadNamePrefix("NotificationFanout_");
+        executor.initialize();
+        return executor;
+    }
+
     @Override
     public AsyncUncaughtExceptionHandler getAsyncUncaughtExceptionHandler() {
         return new CustomAsyncExceptionHandler();
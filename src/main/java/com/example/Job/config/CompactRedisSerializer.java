@@ -0,0 +1,114 @@
+package com.example.Job.config;
+
+import com.example.Job.entity.Company;
+import com.example.Job.entity.User;
+import com.example.Job.models.dtos.CompanyDetailResponse;
+import com.example.Job.models.dtos.GetJobResponse;
+import com.example.Job.models.dtos.JobDetailCompanyResponse;
+import com.example.Job.models.dtos.JobDetailResponse;
+import com.example.Job.models.dtos.JobFacetResponse;
+import com.example.Job.models.dtos.JobSearchCacheEntry;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Redis value codec: Smile (binary JSON) body behind a 3 bytes header instead of JSON carrying
+// the full "@class" name of every object.
+//   [MAGIC][VERSION][type id] + Smile body
+// Types missing from TYPES are written by the fallback (JSON) serializer, without header.
+// Reading checks the header, so JSON entries written before the rollout are still readable
+// and simply get replaced as they expire.
+public class CompactRedisSerializer implements RedisSerializer<Object> {
+
+    private static final Logger log = LoggerFactory.getLogger(CompactRedisSerializer.class);
+
+    // Never the first byte of a JSON document
+    private static final byte MAGIC = (byte) 0xCA;
+    private static final byte VERSION = 1;
+    private static final int HEADER_LENGTH = 3;
+
+    // Type id = position + 1 and is stored in Redis: only append to this list, never reorder.
+    // Scalars stay on the fallback: set members are compared byte for byte (SISMEMBER, SREM),
+    // so their encoding must not change under sets filled before the rollout.
+    private static final List<Class<?>> TYPES = List.of(
+            CompanyDetailResponse.class,
+            User.class,
+            Company.class,
+            GetJobResponse.class,
+            JobDetailResponse.class,
+            JobDetailCompanyResponse.class,
+            JobSearchCacheEntry.class,
+            JobFacetResponse.class);
+
+    private static final Map<Class<?>, Byte> TYPE_IDS = new HashMap<>();
+
+    static {
+        for (int i = 0; i < TYPES.size(); i++) {
+            TYPE_IDS.put(TYPES.get(i), (byte) (i + 1));
+        }
+    }
+
+    private final ObjectMapper smileMapper = new ObjectMapper(new SmileFactory())
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            // A field removed from a DTO must not turn old entries into errors
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    private final RedisSerializer<Object> fallback;
+
+    public CompactRedisSerializer(RedisSerializer<Object> fallback) {
+        this.fallback = fallback;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) return new byte[0];
+
+        Byte typeId = TYPE_IDS.get(value.getClass());
+        if (typeId == null) return fallback.serialize(value);
+
+        try {
+            byte[] body = smileMapper.writeValueAsBytes(value);
+
+            byte[] bytes = new byte[HEADER_LENGTH + body.length];
+            bytes[0] = MAGIC;
+            bytes[1] = VERSION;
+            bytes[2] = typeId;
+            System.arraycopy(body, 0, bytes, HEADER_LENGTH, body.length);
+            return bytes;
+        } catch (Exception e) {
+            throw new SerializationException("Could not write " + value.getClass().getSimpleName(), e);
+        }
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) return null;
+
+        // No header: JSON entry from the fallback serializer or from before the rollout
+        if (bytes[0] != MAGIC) return fallback.deserialize(bytes);
+
+        int typeId = bytes[2] & 0xFF;
+        if (bytes[1] != VERSION || typeId < 1 || typeId > TYPES.size()) {
+            // Written by a newer node during a rollout: a cache miss, the entry gets reloaded
+            log.debug("Skipping Redis value with unknown codec version {} / type {}", bytes[1], typeId);
+            return null;
+        }
+
+        try {
+            return smileMapper.readValue(bytes, HEADER_LENGTH, bytes.length - HEADER_LENGTH, TYPES.get(typeId - 1));
+        } catch (Exception e) {
+            throw new SerializationException("Could not read " + TYPES.get(typeId - 1).getSimpleName(), e);
+        }
+    }
+}
@@ -1,17 +1,21 @@
 package com.example.Job.config;
 
+import com.example.Job.security.AuthenticatedUserJwtConverter;
 import com.example.Job.security.JwtUtil;
+import com.example.Job.security.VerifiedJwtCache;
+import com.example.Job.service.IRedisService;
 
 import com.nimbusds.jose.jwk.source.ImmutableSecret;
 import com.nimbusds.jose.util.Base64;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.JwtEncoder;
 import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
 import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
-import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
 import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
 
 import javax.crypto.SecretKey;
@@ -24,6 +28,9 @@ public class JwtConfig {
     @Value("${app.jwt-secret}")
     private String jwtSecret;
 
+    @Value("${app.jwt.verified-token-cache-size:10000}")
+    private int verifiedTokenCacheSize;
+
     // Create Secret Key
     private SecretKey getSecretKey(){
         byte[] keyBytes = Base64.from(jwtSecret).decode();
@@ -31,13 +38,26 @@ public class JwtConfig {
     }
 
     @Bean
-    public JwtDecoder jwtDecoder(){
+    public VerifiedJwtCache verifiedJwtCache(){
+        return new VerifiedJwtCache(verifiedTokenCacheSize);
+    }
+
+    @Bean
+    public JwtDecoder jwtDecoder(VerifiedJwtCache verifiedJwtCache, IRedisService redisService){
         NimbusJwtDecoder jwtDecoder = NimbusJwtDecoder.withSecretKey(
                 getSecretKey()).macAlgorithm(JwtUtil.JWT_ALGORITHM).build();
 
+        // A token seen before skips signature verification until its "exp".
+        // A token new to this node is also checked against the shared deny-list, it may have been revoked elsewhere
         return token -> {
             try{
-                return jwtDecoder.decode(token);
+                return verifiedJwtCache.getOrVerify(token, value -> {
+                    Jwt jwt = jwtDecoder.decode(value);
+                    if (redisService.exists(JwtUtil.revokedTokenKey(VerifiedJwtCache.fingerprint(value)))) {
+                        throw new BadJwtException("Token has been revoked");
+                    }
+                    return jwt;
+                });
             } catch (Exception e) {
                 System.out.println("JWT error: " + e.getMessage());
                 throw new RuntimeException(e);
@@ -50,14 +70,13 @@ public class JwtConfig {
         return new NimbusJwtEncoder(new ImmutableSecret<>(getSecretKey()));
     }
 
+    // Builds the typed AuthenticatedUser of the request once, from the already verified token
     @Bean
-    public JwtAuthenticationConverter jwtAuthenticationConverter() {
+    public AuthenticatedUserJwtConverter jwtAuthenticationConverter() {
         JwtGrantedAuthoritiesConverter grantedAuthoritiesConverter = new JwtGrantedAuthoritiesConverter();
         grantedAuthoritiesConverter.setAuthorityPrefix("");
         grantedAuthoritiesConverter.setAuthoritiesClaimName("authorities");
 
-        JwtAuthenticationConverter jwtAuthenticationConverter = new JwtAuthenticationConverter();
-        jwtAuthenticationConverter.setJwtGrantedAuthoritiesConverter(grantedAuthoritiesConverter);
-        return jwtAuthenticationConverter;
+        return new AuthenticatedUserJwtConverter(grantedAuthoritiesConverter);
     }
 }
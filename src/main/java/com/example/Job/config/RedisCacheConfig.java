@@ -7,6 +7,8 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import java.time.Duration;
 
 @Configuration
@@ -14,10 +16,12 @@ import java.time.Duration;
 public class RedisCacheConfig {
 
         @Bean
-        public CacheManager cacheManager(RedisConnectionFactory connectionFactory) {
+        public CacheManager cacheManager(RedisConnectionFactory connectionFactory, RedisSerializer<Object> redisValueSerializer) {
                 RedisCacheConfiguration defaultConfig = RedisCacheConfiguration.defaultCacheConfig()
                                 .entryTtl(Duration.ofMinutes(30)) // Thời gian sống mặc định của cache
-                                .disableCachingNullValues(); // Không cache giá trị null
+                                .disableCachingNullValues() // Không cache giá trị null
+                                // Same value codec as RedisConfig templates
+                                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(redisValueSerializer));
 
                 return RedisCacheManager.builder(connectionFactory)
                                 .cacheDefaults(defaultConfig)
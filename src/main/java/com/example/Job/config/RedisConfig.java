@@ -4,6 +4,8 @@ import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.PropertyAccessor;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.lettuce.core.RedisURI;
 import io.lettuce.core.resource.ClientResources;
 import io.lettuce.core.resource.DefaultClientResources;
 import lombok.extern.slf4j.Slf4j;
@@ -15,12 +17,18 @@ import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.connection.lettuce.LettucePoolingClientConfiguration;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 import java.time.Duration;
+import java.util.List;
 
 @Configuration
 @Slf4j
@@ -38,9 +46,24 @@ public class RedisConfig {
     @Value("${spring.data.redis.password}")
     private String redisPassword;
 
+    // compact: Smile body with a short type id, json: JSON with the full class name
+    @Value("${app.redis.codec:compact}")
+    private String redisCodec;
+
     // default cache time to live will be 2 days, if no time to live is specified
     public static final Duration defaultTTL = Duration.ofDays(2);
 
+    // Non-transactional templates, for cache reads and cache fills
+    public static final String CACHE_TEMPLATE = "cacheRedisTemplate";
+    public static final String REACTIVE_TEMPLATE = "reactiveRedisTemplate";
+
+    // Ids of jobs that changed, published after commit: every node drops its cached detail
+    // and refreshes its in-memory indexes from the committed row
+    public static final String JOB_CHANGED_CHANNEL = "job-detail:invalidate";
+
+    // Fingerprints of revoked access tokens: every node drops them from its verified-token cache
+    public static final String TOKEN_REVOKED_CHANNEL = "jwt:revoked";
+
 //    @Bean(destroyMethod = "shutdown")
 //    public ClientResources clientResources() {
 //        return DefaultClientResources.create();
@@ -74,8 +97,57 @@ public class RedisConfig {
         return lettuceConnectionFactory;
     }
 
+    // Transactional template: inside @Transactional, commands are queued in MULTI on a connection
+    // bound to the thread and only run on commit. Keep it for writes that must roll back.
+    @Bean
+    public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory, RedisSerializer<Object> redisValueSerializer) {
+        RedisTemplate<String, Object> template = createTemplate(connectionFactory, redisValueSerializer);
+
+        // explicitly enable transaction support
+        template.setEnableTransactionSupport(true);
+
+        template.afterPropertiesSet();
+
+        return template;
+    }
+
+    // Non-transactional template: reads return their value even inside @Transactional,
+    // and commands go through the shared native Lettuce connection instead of a pooled one
+    @Bean(CACHE_TEMPLATE)
+    public RedisTemplate<String, Object> cacheRedisTemplate(RedisConnectionFactory connectionFactory, RedisSerializer<Object> redisValueSerializer) {
+        RedisTemplate<String, Object> template = createTemplate(connectionFactory, redisValueSerializer);
+        template.afterPropertiesSet();
+        return template;
+    }
+
+    // Non-blocking variant of the cache template, same key and value serializers
+    @Bean(REACTIVE_TEMPLATE)
+    public ReactiveRedisTemplate<String, Object> reactiveRedisTemplate(ReactiveRedisConnectionFactory connectionFactory, RedisSerializer<Object> redisValueSerializer) {
+        RedisSerializationContext<String, Object> serializationContext = RedisSerializationContext
+                .<String, Object>newSerializationContext(new StringRedisSerializer())
+                .value(redisValueSerializer)
+                .hashKey(new StringRedisSerializer())
+                .hashValue(redisValueSerializer)
+                .build();
+
+        return new ReactiveRedisTemplate<>(connectionFactory, serializationContext);
+    }
+
+    // Value codec shared by the templates, pub/sub and the Spring cache manager
     @Bean
-    public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory) {
+    public RedisSerializer<Object> redisValueSerializer() {
+        // Register java.time support so cached DTOs with Instant fields (job rows) can be stored
+        GenericJackson2JsonRedisSerializer jsonSerializer = new GenericJackson2JsonRedisSerializer()
+                .configure(mapper -> mapper.registerModule(new JavaTimeModule())
+                        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS));
+
+        if ("json".equals(redisCodec)) return jsonSerializer;
+
+        // Still reads the JSON entries, and writes JSON for the types it does not know
+        return new CompactRedisSerializer(jsonSerializer);
+    }
+
+    private static RedisTemplate<String, Object> createTemplate(RedisConnectionFactory connectionFactory, RedisSerializer<Object> valueSerializer) {
         RedisTemplate<String, Object> template = new RedisTemplate<>();
 
         template.setConnectionFactory(connectionFactory);
@@ -84,15 +156,32 @@ public class RedisConfig {
         // Serializer cho key và value
         template.setKeySerializer(new StringRedisSerializer());
         template.setHashKeySerializer(new StringRedisSerializer());
-        template.setValueSerializer(new GenericJackson2JsonRedisSerializer());
-        template.setHashValueSerializer(new GenericJackson2JsonRedisSerializer());
+        template.setValueSerializer(valueSerializer);
+        template.setHashValueSerializer(valueSerializer);
 
-        // explicitly enable transaction support
-        template.setEnableTransactionSupport(true);
+        return template;
+    }
 
-        template.afterPropertiesSet();
+    // Client-side caching of read-mostly keys, off unless app.redis.tracking.enabled (needs Redis 6+)
+    @Bean(destroyMethod = "close")
+    public RedisTrackingNearCache redisTrackingNearCache(@Value("${app.redis.tracking.enabled:false}") boolean enabled,
+                                                         @Value("${app.redis.tracking.prefixes:}") List<String> prefixes,
+                                                         @Value("${app.redis.tracking.max-size:10000}") int maxSize) {
+        RedisURI.Builder uri = RedisURI.builder().withHost(redisHost).withPort(redisPort);
+        if (redisPassword != null && !redisPassword.isEmpty()) {
+            if (redisUserName != null && !redisUserName.isEmpty()) uri.withAuthentication(redisUserName, redisPassword);
+            else uri.withPassword((CharSequence) redisPassword);
+        }
 
-        return template;
+        return new RedisTrackingNearCache(enabled && !prefixes.isEmpty(), uri.build(), prefixes, maxSize);
+    }
+
+    // Pub/sub subscriptions, used to invalidate in-process caches on every node
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
     }
 
     /**
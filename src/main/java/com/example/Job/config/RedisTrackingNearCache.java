@@ -0,0 +1,223 @@
+package com.example.Job.config;
+
+import com.example.Job.utils.LocalCache;
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.RedisChannelHandler;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisConnectionStateListener;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.TrackingArgs;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.push.PushMessage;
+import io.lettuce.core.codec.StringCodec;
+import io.lettuce.core.protocol.ProtocolVersion;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.SocketAddress;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// In-process copy of read-mostly Redis keys, kept coherent with Redis client-side caching:
+// a dedicated RESP3 connection runs CLIENT TRACKING in BCAST mode for the configured key prefixes,
+// and Redis pushes an "invalidate" message to it whenever any node writes one of those keys.
+// Reads still go through the RedisTemplate; this only remembers their results until invalidated.
+// Values are kept serialized, so every hit is a fresh object the caller may change.
+// While the tracking connection is down nothing is served, invalidations could have been missed.
+public class RedisTrackingNearCache implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(RedisTrackingNearCache.class);
+
+    // Upper bound of staleness if an invalidation is ever lost
+    private static final Duration TTL = Duration.ofMinutes(10);
+    // A huge set is not worth copying member by member
+    private static final int MAX_MEMBERS_PER_SET = 1000;
+
+    private final boolean enabled;
+    private final List<String> prefixes;
+
+    private final LocalCache<String, byte[]> values;
+    private final LocalCache<String, Map<Object, Boolean>> memberships;
+
+    // Bumped by every invalidation: a read that raced with one is not cached
+    private final AtomicLong epoch = new AtomicLong();
+    // True only while invalidations are being received
+    private volatile boolean tracking;
+
+    private RedisClient client;
+    private StatefulRedisConnection<String, String> connection;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public RedisTrackingNearCache(boolean enabled, RedisURI redisUri, List<String> prefixes, int maxSize) {
+        this.enabled = enabled;
+        this.prefixes = List.copyOf(prefixes);
+        this.values = new LocalCache<>(maxSize, TTL);
+        this.memberships = new LocalCache<>(maxSize, TTL);
+
+        if (enabled) {
+            start(redisUri);
+        }
+    }
+
+    public boolean covers(String key) {
+        if (!tracking) return false;
+
+        for (String prefix : prefixes) {
+            if (key.startsWith(prefix)) return true;
+        }
+        return false;
+    }
+
+    // Read before going to Redis, pass it back to put() once the value is read
+    public long epoch() {
+        return epoch.get();
+    }
+
+    public byte[] get(String key) {
+        byte[] value = values.get(key);
+        if (value != null) hits.increment();
+        else misses.increment();
+        return value;
+    }
+
+    public void put(String key, byte[] value, long readEpoch) {
+        if (value == null || !covers(key) || epoch.get() != readEpoch) return;
+        values.put(key, value);
+
+        // An invalidation between the check and the put may have run before the value was there
+        if (epoch.get() != readEpoch) values.invalidate(key);
+    }
+
+    // null when the membership of this value is not cached
+    public Boolean isMember(String key, Object member) {
+        Map<Object, Boolean> members = memberships.get(key);
+        Boolean isMember = members != null ? members.get(member) : null;
+
+        if (isMember != null) hits.increment();
+        else misses.increment();
+        return isMember;
+    }
+
+    public void putMembers(String key, Map<?, Boolean> membership, long readEpoch) {
+        if (membership == null || !covers(key) || epoch.get() != readEpoch) return;
+
+        Map<Object, Boolean> members;
+        // Get or create under one lock, so two first reads of a set fill the same map
+        synchronized (memberships) {
+            members = memberships.get(key);
+            if (members == null) {
+                members = new ConcurrentHashMap<>();
+                memberships.put(key, members);
+            }
+        }
+        if (members.size() + membership.size() > MAX_MEMBERS_PER_SET) return;
+
+        members.putAll(membership);
+
+        // Same race as put(): drop the whole set rather than keep a stale member
+        if (epoch.get() != readEpoch) memberships.invalidate(key);
+    }
+
+    public void invalidate(String key) {
+        epoch.incrementAndGet();
+        values.invalidate(key);
+        memberships.invalidate(key);
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("tracking", tracking);
+        stats.put("hits", hits.sum());
+        stats.put("misses", misses.sum());
+        stats.put("invalidations", invalidations.sum());
+        stats.put("size", values.size() + memberships.size());
+        return stats;
+    }
+
+    @Override
+    public void close() {
+        tracking = false;
+        if (connection != null) connection.close();
+        if (client != null) client.shutdown();
+    }
+
+    private void start(RedisURI redisUri) {
+        try {
+            client = RedisClient.create(redisUri);
+            // Push messages (invalidations) need RESP3
+            client.setOptions(ClientOptions.builder().protocolVersion(ProtocolVersion.RESP3).build());
+
+            client.addListener(new RedisConnectionStateListener() {
+                @Override
+                public void onRedisConnected(RedisChannelHandler<?, ?> channel, SocketAddress socketAddress) {
+                    // Tracking is per connection: enable it again after a reconnect
+                    if (connection != null) enableTracking();
+                }
+
+                @Override
+                public void onRedisDisconnected(RedisChannelHandler<?, ?> channel) {
+                    stopTracking();
+                }
+            });
+
+            connection = client.connect();
+            connection.addListener(this::onPushMessage);
+            enableTracking();
+        } catch (Exception e) {
+            // Only a cache: run without it rather than fail the startup
+            log.warn("Failed to start Redis client-side caching, near cache disabled, error: {}", e.getMessage());
+            close();
+        }
+    }
+
+    private void enableTracking() {
+        TrackingArgs trackingArgs = TrackingArgs.Builder.enabled().bcast().prefixes(prefixes.toArray(new String[0]));
+
+        connection.async().clientTracking(trackingArgs).whenComplete((reply, error) -> {
+            if (error != null) {
+                log.warn("Failed to enable Redis client tracking, error: {}", error.getMessage());
+                return;
+            }
+            // Anything cached before this point may have missed invalidations
+            clearAll();
+            tracking = true;
+            log.info("Redis client tracking enabled for prefixes {}", prefixes);
+        });
+    }
+
+    private void stopTracking() {
+        tracking = false;
+        clearAll();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void onPushMessage(PushMessage message) {
+        if (!"invalidate".equals(message.getType())) return;
+
+        invalidations.increment();
+        List<Object> content = message.getContent(StringCodec.UTF8::decodeKey);
+        Object keys = content.size() > 1 ? content.get(1) : null;
+
+        // A null key list means FLUSHALL / FLUSHDB
+        if (keys instanceof List<?> keyList) {
+            keyList.forEach(key -> invalidate(String.valueOf(key)));
+        } else {
+            clearAll();
+        }
+    }
+
+    private void clearAll() {
+        epoch.incrementAndGet();
+        values.invalidateAll();
+        memberships.invalidateAll();
+    }
+}
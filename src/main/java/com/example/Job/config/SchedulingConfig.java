@@ -0,0 +1,10 @@
+package com.example.Job.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// @Scheduled background jobs (outbox relay and retries)
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
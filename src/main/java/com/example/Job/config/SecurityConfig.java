@@ -1,5 +1,6 @@
 package com.example.Job.config;
 
+import com.example.Job.security.AuthenticatedUserJwtConverter;
 import com.example.Job.security.oauth2.CustomOAuth2UserService;
 import com.example.Job.security.JwtAuthenticationEntryPoint;
 import com.example.Job.security.oauth2.OAuth2LoginSuccessHandler;
@@ -27,12 +28,14 @@ public class SecurityConfig {
     private final static String oAuth2RedirectUri = "http://localhost:3000/auth/callback";
 
     private final OAuth2LoginSuccessHandler oAuth2LoginSuccessHandler;
+    private final AuthenticatedUserJwtConverter jwtAuthenticationConverter;
 
     @Autowired
-    public SecurityConfig(JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint, CustomOAuth2UserService customOAuth2UserService, OAuth2LoginSuccessHandler oAuth2LoginSuccessHandler) {
+    public SecurityConfig(JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint, CustomOAuth2UserService customOAuth2UserService, OAuth2LoginSuccessHandler oAuth2LoginSuccessHandler, AuthenticatedUserJwtConverter jwtAuthenticationConverter) {
         this.jwtAuthenticationEntryPoint = jwtAuthenticationEntryPoint;
         this.customOAuth2UserService = customOAuth2UserService;
         this.oAuth2LoginSuccessHandler = oAuth2LoginSuccessHandler;
+        this.jwtAuthenticationConverter = jwtAuthenticationConverter;
     }
 
     @Bean
@@ -51,6 +54,8 @@ public class SecurityConfig {
 
         http.authorizeHttpRequests(configurer -> configurer
                 .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
+                // Revokes the caller's own token, it needs one
+                .requestMatchers("/api/v1/auth/logout").authenticated()
                 .requestMatchers(whiteList).permitAll()
                 .anyRequest().authenticated());
 
@@ -63,7 +68,7 @@ public class SecurityConfig {
                 .successHandler(oAuth2LoginSuccessHandler)
         );
 
-        http.oauth2ResourceServer(oauth2 -> oauth2.jwt(Customizer.withDefaults()));
+        http.oauth2ResourceServer(oauth2 -> oauth2.jwt(jwt -> jwt.jwtAuthenticationConverter(jwtAuthenticationConverter)));
 
         // use HTTP Basic authentication
 
@@ -66,6 +66,8 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     private final ChannelInterceptor channelInterceptor;
     public static String userPrivateMessagingDestination = "/queue/messages";
     public static String userPrivateNotificationDestination = "/queue/notifications";
+    // + company id, broadcasts of companies with many followers
+    public static String companyNotificationDestinationPrefix = "/topic/companies/notifications/";
 
     public WebSocketConfig(ChannelInterceptor channelInterceptor) {
         this.channelInterceptor = channelInterceptor;
@@ -0,0 +1,5 @@
+package com.example.Job.constant;
+
+public enum OutboxEventTypeEnum {
+    COMPANY_FOLLOWERS_NOTIFICATION
+}
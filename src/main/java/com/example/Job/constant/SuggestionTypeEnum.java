@@ -0,0 +1,5 @@
+package com.example.Job.constant;
+
+public enum SuggestionTypeEnum {
+    JOB_TITLE, COMPANY
+}
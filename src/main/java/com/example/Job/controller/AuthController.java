@@ -135,6 +135,17 @@ public class AuthController {
 
     }
 
+    @PostMapping("/logout")
+    public ResponseEntity<ResponseDto> logout() {
+        authService.logout();
+
+        ResponseDto response = ResponseDto.builder()
+                .message("Logout successfully")
+                .status(HttpStatus.OK)
+                .build();
+        return ResponseEntity.ok().body(response);
+    }
+
     @PostMapping("/register")
     public ResponseEntity<ResponseDto> register(@Valid @RequestBody RegisterRequest registerRequest) {
         StringBuilder sb = new StringBuilder();
@@ -0,0 +1,45 @@
+package com.example.Job.controller;
+
+import com.example.Job.models.dtos.ResponseDto;
+import com.example.Job.service.ICacheLoaderService;
+import com.example.Job.service.IRedisService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/v1/cache")
+public class CacheController {
+
+    private final IRedisService redisService;
+    private final ICacheLoaderService cacheLoaderService;
+
+    @Autowired
+    public CacheController(IRedisService redisService, ICacheLoaderService cacheLoaderService) {
+        this.redisService = redisService;
+        this.cacheLoaderService = cacheLoaderService;
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<ResponseDto> getCacheStats() {
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("redis", redisService.getStats());
+        stats.put("loader", cacheLoaderService.getStats());
+
+        ResponseDto response = ResponseDto.builder()
+                .status(HttpStatus.OK)
+                .message("Get cache stats successfully")
+                .isSuccess(true)
+                .data(stats)
+                .build();
+
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+}
@@ -4,26 +4,41 @@ import com.example.Job.constant.IndustryEnum;
 import com.example.Job.constant.JobStatusEnum;
 import com.example.Job.constant.JobTypeEnum;
 import com.example.Job.constant.LevelEnum;
+import com.example.Job.models.CursorPage;
 import com.example.Job.models.ResultPagination;
 import com.example.Job.models.dtos.*;
+import com.example.Job.service.IJobDetailCacheService;
+import com.example.Job.service.IJobIndexService;
 import com.example.Job.service.IJobSaveService;
+import com.example.Job.service.IJobSearchCacheService;
 import com.example.Job.service.IJobService;
+import com.example.Job.service.ISuggestionService;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/v1/jobs")
 public class JobController {
     private final IJobService jobService;
     private final IJobSaveService jobSaveService;
-    public JobController(IJobService jobService, IJobSaveService jobSaveService) {
+    private final IJobSearchCacheService jobSearchCacheService;
+    private final IJobIndexService jobIndexService;
+    private final ISuggestionService suggestionService;
+    private final IJobDetailCacheService jobDetailCacheService;
+    public JobController(IJobService jobService, IJobSaveService jobSaveService, IJobSearchCacheService jobSearchCacheService, IJobIndexService jobIndexService, ISuggestionService suggestionService, IJobDetailCacheService jobDetailCacheService) {
         this.jobService = jobService;
         this.jobSaveService = jobSaveService;
+        this.jobSearchCacheService = jobSearchCacheService;
+        this.jobIndexService = jobIndexService;
+        this.suggestionService = suggestionService;
+        this.jobDetailCacheService = jobDetailCacheService;
     }
 
     @PostMapping("/save")
@@ -60,6 +75,19 @@ public class JobController {
 
     }
 
+    @GetMapping("/detail/cache-stats")
+    public ResponseEntity<ResponseDto> getDetailCacheStats() {
+
+        ResponseDto response = ResponseDto.builder()
+                .status(HttpStatus.OK)
+                .message("Get job detail cache stats successfully")
+                .isSuccess(true)
+                .data(jobDetailCacheService.getStats())
+                .build();
+
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
     // This Get Job Detail API is for Recruiter
     @GetMapping("/{id}")
     public ResponseEntity<ResponseDto> getJobDetail(@PathVariable(name = "id") long id) {
@@ -194,7 +222,9 @@ public class JobController {
                                                           @RequestParam(value = "maxExperience", required = false) Integer maxExperience,
                                                           @RequestParam(value = "minSalary", required = false) Double minSalary,
                                                           @RequestParam(value = "maxSalary", required = false) Double maxSalary,
-                                                          @RequestParam(value = "cities", required = false) List<String> cities
+                                                          @RequestParam(value = "cities", required = false) List<String> cities,
+                                                          @RequestParam(value = "useCursor", defaultValue = "false") boolean useCursor,
+                                                          @RequestParam(value = "cursor", required = false) String cursor
                                                           ) {
 
 //        double minSal = minSalary == null ? 0 : minSalary;
@@ -211,6 +241,24 @@ public class JobController {
                 .maxSalary(maxSalary)
                 .cities(cities)
                 .build();
+
+        // Keyset pagination: deep pages cost the same as the first one and no count query is run
+        if(useCursor || cursor != null){
+            CursorPage<GetJobResponse> cursorPage = jobService.searchForJobsByCursor(pageSize, sortBy, Boolean.valueOf(isAscending),
+                    jobFilter, cursor);
+
+            ResultPagination<GetJobResponse> res = ResultPagination.<GetJobResponse>builder()
+                    .isSuccess(true)
+                    .message("Get jobs successfully")
+                    .httpStatus(HttpStatus.OK)
+                    .pageSize(pageSize)
+                    .data(cursorPage.getContent())
+                    .nextCursor(cursorPage.getNextCursor())
+                    .build();
+
+            return new ResponseEntity<>(res, HttpStatus.OK);
+        }
+
         Page<GetJobResponse> jobResPage = jobService.searchForJobs(current - 1, pageSize, sortBy, Boolean.valueOf(isAscending),
                 jobFilter);
 
@@ -231,9 +279,91 @@ public class JobController {
         return new ResponseEntity<>(res, HttpStatus.OK);
     }
 
+    @GetMapping("/search/facets")
+    public ResponseEntity<ResponseDto> getSearchFacets(@RequestParam(value = "keyword", required = false) String keyword,
+                                                       @RequestParam(value = "jobType", required = false) JobTypeEnum jobType,
+                                                       @RequestParam(value = "industry", required = false) IndustryEnum industry,
+                                                       @RequestParam(value = "level", required = false) LevelEnum level,
+                                                       @RequestParam(value = "minExperience", required = false) Integer minExperience,
+                                                       @RequestParam(value = "maxExperience", required = false) Integer maxExperience,
+                                                       @RequestParam(value = "minSalary", required = false) Double minSalary,
+                                                       @RequestParam(value = "maxSalary", required = false) Double maxSalary,
+                                                       @RequestParam(value = "cities", required = false) List<String> cities) {
+
+        JobFilter jobFilter = JobFilter.builder()
+                .keyword(keyword)
+                .jobType(jobType)
+                .industry(industry)
+                .level(level)
+                .minExperience(minExperience)
+                .maxExperience(maxExperience)
+                .minSalary(minSalary)
+                .maxSalary(maxSalary)
+                .cities(cities)
+                .build();
+
+        JobFacetResponse facets = jobService.getSearchFacets(jobFilter);
+
+        ResponseDto response = ResponseDto.builder()
+                .status(HttpStatus.OK)
+                .message("Get search facets successfully")
+                .isSuccess(true)
+                .data(facets)
+                .build();
+
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+    @GetMapping("/suggest")
+    public ResponseEntity<ResponseDto> suggest(@RequestParam(value = "q") String query,
+                                               @RequestParam(value = "limit", defaultValue = "8") int limit) {
+
+        List<SuggestionResponse> suggestions = suggestionService.suggest(query, limit);
+
+        ResponseDto response = ResponseDto.builder()
+                .status(HttpStatus.OK)
+                .message("Get suggestions successfully")
+                .isSuccess(true)
+                .data(suggestions)
+                .build();
+
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+    @GetMapping("/search/cache-stats")
+    public ResponseEntity<ResponseDto> getSearchCacheStats() {
+
+        List<CacheStats> stats = jobSearchCacheService.getStats();
+
+        ResponseDto response = ResponseDto.builder()
+                .status(HttpStatus.OK)
+                .message("Get search cache stats successfully")
+                .isSuccess(true)
+                .data(stats)
+                .build();
+
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+    @GetMapping("/search/engine-stats")
+    public ResponseEntity<ResponseDto> getSearchEngineStats() {
+
+        Map<String, Object> stats = new LinkedHashMap<>(jobIndexService.getStats());
+        stats.put("latency", jobService.getSearchLatencyStats());
+
+        ResponseDto response = ResponseDto.builder()
+                .status(HttpStatus.OK)
+                .message("Get search engine stats successfully")
+                .isSuccess(true)
+                .data(stats)
+                .build();
+
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
     @GetMapping("/{jobId}/related")
     public ResponseEntity<ResponseDto> getRelatedJobs(@PathVariable Long jobId,
-                                                       @RequestParam(name = "keyword") String keyword,
+                                                       @RequestParam(name = "keyword", required = false) String keyword,
                                                        @RequestParam(defaultValue = "7") int limit) {
 
         List<GetJobResponse> relatedJob = jobService.getRelatedJob(jobId, keyword, limit);
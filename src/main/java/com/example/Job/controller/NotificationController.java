@@ -1,33 +1,44 @@
 package com.example.Job.controller;
 
 import com.example.Job.entity.Company;
+import com.example.Job.models.CursorPage;
 import com.example.Job.models.ResultObject;
+import com.example.Job.models.ResultPagination;
 import com.example.Job.models.dtos.CompanyRegister;
 import com.example.Job.models.dtos.NotificationResponse;
 import com.example.Job.models.dtos.NotificationUpdateRequest;
 import com.example.Job.service.INotificationService;
+import com.example.Job.service.IOutboxService;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/v1/notifications")
 public class NotificationController {
 
+    // The largest inbox page
+    private static final int LEGACY_LIST_SIZE = 100;
+
     private final INotificationService notificationService;
+    private final IOutboxService outboxService;
 
-    public NotificationController(INotificationService notificationService) {
+    public NotificationController(INotificationService notificationService, IOutboxService outboxService) {
         this.notificationService = notificationService;
+        this.outboxService = outboxService;
     }
 
+    // Kept for older clients: now the newest inbox page, the rest is read through /user/inbox
+    @Deprecated
     @GetMapping("/user")
-    public ResponseEntity<ResultObject> getNotificationByUser() {
+    public ResponseEntity<ResultObject<List<NotificationResponse>>> getNotificationByUser() {
 
 
-        List<NotificationResponse> userNotifications = notificationService.getAllNotificationsForUser();
+        List<NotificationResponse> userNotifications = notificationService.getInbox(LEGACY_LIST_SIZE, null).getContent();
 
         ResultObject<List<NotificationResponse>> result = new ResultObject<>(true, "Get notifications successfully", HttpStatus.OK, userNotifications);
 
@@ -35,8 +46,46 @@ public class NotificationController {
 
     }
 
+    @GetMapping("/user/inbox")
+    public ResponseEntity<ResultPagination<NotificationResponse>> getInbox(@RequestParam(value = "pageSize", defaultValue = "20") int pageSize,
+                                                                         @RequestParam(value = "cursor", required = false) String cursor) {
+
+        CursorPage<NotificationResponse> inbox = notificationService.getInbox(pageSize, cursor);
+
+        ResultPagination<NotificationResponse> res = ResultPagination.<NotificationResponse>builder()
+                .isSuccess(true)
+                .message("Get notifications successfully")
+                .httpStatus(HttpStatus.OK)
+                .pageSize(pageSize)
+                .data(inbox.getContent())
+                .nextCursor(inbox.getNextCursor())
+                .build();
+
+        return new ResponseEntity<>(res, HttpStatus.OK);
+    }
+
+    @GetMapping("/user/unread-count")
+    public ResponseEntity<ResultObject<Long>> getUnreadCount() {
+
+        long unreadCount = notificationService.getUnreadCount();
+
+        ResultObject<Long> result = new ResultObject<>(true, "Get unread count successfully", HttpStatus.OK, unreadCount);
+
+        return new ResponseEntity<>(result, HttpStatus.OK);
+    }
+
+    @PutMapping("/user/mark-all-as-read")
+    public ResponseEntity<ResultObject<Integer>> markAllAsRead() {
+
+        int marked = notificationService.markAllNotificationsAsRead();
+
+        ResultObject<Integer> result = new ResultObject<>(true, "Mark all as read successfully", HttpStatus.OK, marked);
+
+        return new ResponseEntity<>(result, HttpStatus.OK);
+    }
+
     @PutMapping("/user/mark-as-read")
-    public ResponseEntity<ResultObject> markAsRead(@Valid @RequestBody NotificationUpdateRequest notificationUpdateRequest) {
+    public ResponseEntity<ResultObject<Void>> markAsRead(@Valid @RequestBody NotificationUpdateRequest notificationUpdateRequest) {
 
 
         notificationService.markNotificationAsRead(notificationUpdateRequest.getNotificationId());
@@ -46,4 +95,24 @@ public class NotificationController {
         return new ResponseEntity<>(result, HttpStatus.OK);
 
     }
+
+    @GetMapping("/fanout-stats")
+    public ResponseEntity<ResultObject<Map<String, Object>>> getFanoutStats() {
+
+        Map<String, Object> stats = notificationService.getFanoutStats();
+
+        ResultObject<Map<String, Object>> result = new ResultObject<>(true, "Get notification fan-out stats successfully", HttpStatus.OK, stats);
+
+        return new ResponseEntity<>(result, HttpStatus.OK);
+    }
+
+    @GetMapping("/outbox-stats")
+    public ResponseEntity<ResultObject<Map<String, Object>>> getOutboxStats() {
+
+        Map<String, Object> stats = outboxService.getStats();
+
+        ResultObject<Map<String, Object>> result = new ResultObject<>(true, "Get notification outbox stats successfully", HttpStatus.OK, stats);
+
+        return new ResponseEntity<>(result, HttpStatus.OK);
+    }
 }
@@ -7,6 +7,8 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.time.Instant;
+
 @Entity
 @Getter
 @Setter
@@ -26,4 +28,12 @@ public class CompanyFollow {
     @MapsId("companyId")
     @JoinColumn(name = "company_id")
     private Company company;
+
+    // Broadcasts older than the follow are not part of the follower's inbox
+    private Instant followedAt;
+
+    @PrePersist
+    public void handleBeforeCreate() {
+        if(this.followedAt == null) this.setFollowedAt(Instant.now());
+    }
 }
@@ -0,0 +1,32 @@
+package com.example.Job.entity.Id;
+
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.Objects;
+
+@Getter
+@Setter
+@Embeddable
+@AllArgsConstructor
+@NoArgsConstructor
+public class NotificationReadId {
+    private Long notificationId;
+
+    private Long userId;
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass()) return false;
+        NotificationReadId that = (NotificationReadId) o;
+        return Objects.equals(notificationId, that.notificationId) && Objects.equals(userId, that.userId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(notificationId, userId);
+    }
+}
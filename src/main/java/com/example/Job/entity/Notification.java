@@ -26,8 +26,12 @@ public class Notification {
 
 //    private String senderName;
 
+    // Null on a company broadcast: one row for every follower, merged into their inbox on read
     private Long recipientId;
 
+    // Set on a company broadcast only
+    private Long companyId;
+
     private boolean isRead;
 
     private String link;
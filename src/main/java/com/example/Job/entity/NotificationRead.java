@@ -0,0 +1,29 @@
+package com.example.Job.entity;
+
+import com.example.Job.entity.Id.NotificationReadId;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+// Read marker of one user on a company broadcast, which has no per-user row to flag
+@Entity
+@Table(name = "notification_reads")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class NotificationRead {
+    @EmbeddedId
+    private NotificationReadId id;
+
+    private Instant readAt;
+
+    @PrePersist
+    public void handleBeforeCreate() {
+        if(this.readAt == null) this.setReadAt(Instant.now());
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.Job.entity;
+
+import com.example.Job.constant.OutboxEventTypeEnum;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+// Event written in the same transaction as the change that caused it,
+// then relayed to a Redis stream; publishedAt stays null until it is
+@Entity
+@Table(name = "outbox_events")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class OutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    private OutboxEventTypeEnum type;
+
+    // JSON of the event
+    @Column(columnDefinition = "TEXT")
+    private String payload;
+
+    private Instant createdAt;
+
+    private Instant publishedAt;
+
+    @PrePersist
+    public void handleBeforeCreate() {
+        if(this.createdAt == null) this.setCreatedAt(Instant.now());
+    }
+}
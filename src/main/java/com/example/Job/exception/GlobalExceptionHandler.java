@@ -60,6 +60,15 @@ public class GlobalExceptionHandler {
     }
 
 
+    // Malformed client input that passed binding, e.g. a tampered or mismatched search cursor
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ErrorDetails> handleIllegalArgumentException(IllegalArgumentException exception, WebRequest webRequest) {
+        ErrorDetails errorDetails = new ErrorDetails(new Date(), exception.getMessage(),
+                webRequest.getDescription(false));
+
+        return new ResponseEntity<>(errorDetails, HttpStatus.BAD_REQUEST);
+    }
+
     @ExceptionHandler(ClassCastException.class)
     public ResponseEntity<ErrorDetails> handleClassCastException(ClassCastException exception, WebRequest webRequest) {
         ErrorDetails errorDetails = new ErrorDetails(new Date(), exception.getMessage(),
@@ -0,0 +1,15 @@
+package com.example.Job.mapper;
+
+import com.example.Job.entity.Company;
+import com.example.Job.models.dtos.CompanyDetailResponse;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.ReportingPolicy;
+
+// Generated at compile time, the address is copied through JobMapper
+@Mapper(componentModel = "spring", uses = JobMapper.class, unmappedTargetPolicy = ReportingPolicy.ERROR)
+public interface CompanyMapper {
+
+    @Mapping(target = "numOfFollowers", defaultValue = "0L")
+    CompanyDetailResponse toCompanyDetailResponse(Company company);
+}
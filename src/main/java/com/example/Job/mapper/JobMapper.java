@@ -0,0 +1,46 @@
+package com.example.Job.mapper;
+
+import com.example.Job.entity.Address;
+import com.example.Job.entity.Job;
+import com.example.Job.models.dtos.GetJobResponse;
+import com.example.Job.models.dtos.JobDetailCompanyResponse;
+import com.example.Job.models.dtos.JobDetailResponse;
+import com.example.Job.models.dtos.JobPostResponse;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.ReportingPolicy;
+
+// MapStruct writes the getter/setter code at compile time (JobMapperImpl), nothing is resolved by reflection per call.
+// A DTO field without a source fails the build, map it or ignore it here.
+// Lists and embedded addresses are copied: responses are cached and must not share state with managed entities.
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.ERROR)
+public interface JobMapper {
+
+    @Mapping(target = "companyName", source = "company.name")
+    @Mapping(target = "companyImg", source = "company.imgUrl")
+    @Mapping(target = "companyId", source = "company.id")
+    // Per user, set on a copy by the caller
+    @Mapping(target = "isSaved", ignore = true)
+    GetJobResponse toGetJobResponse(Job job);
+
+    JobDetailResponse toJobDetailResponse(Job job);
+
+    @Mapping(target = "companyId", source = "company.id")
+    @Mapping(target = "companyName", source = "company.name")
+    @Mapping(target = "companyImgUrl", source = "company.imgUrl")
+    @Mapping(target = "companySize", source = "company.companySize")
+    @Mapping(target = "companyIndustry", source = "company.industry")
+    @Mapping(target = "companyAddress", source = "company.address")
+    // Per user, set on a copy by the caller
+    @Mapping(target = "saved", ignore = true)
+    @Mapping(target = "appliedAt", ignore = true)
+    JobDetailCompanyResponse toJobDetailCompanyResponse(Job job);
+
+    // Cached detail responses are shared, per-user fields are set on a copy
+    JobDetailCompanyResponse copy(JobDetailCompanyResponse source);
+
+    @Mapping(target = "status", source = "jobStatus")
+    JobPostResponse toJobPostResponse(Job job);
+
+    Address copy(Address address);
+}
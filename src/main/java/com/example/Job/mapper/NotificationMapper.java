@@ -0,0 +1,15 @@
+package com.example.Job.mapper;
+
+import com.example.Job.entity.Notification;
+import com.example.Job.models.dtos.NotificationResponse;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.ReportingPolicy;
+
+// Generated at compile time, recipientId is converted to its String form
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.ERROR)
+public interface NotificationMapper {
+
+    @Mapping(target = "senderName", ignore = true)
+    NotificationResponse toNotificationResponse(Notification notification);
+}
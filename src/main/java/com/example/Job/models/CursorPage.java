@@ -0,0 +1,19 @@
+package com.example.Job.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+// A page of a keyset (cursor) search: no total count, only the cursor to continue from
+@Getter
+@AllArgsConstructor
+public class CursorPage<T> {
+    private List<T> content;
+
+    private String nextCursor;
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
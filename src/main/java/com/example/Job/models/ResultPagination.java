@@ -16,11 +16,19 @@ public class ResultPagination<T> {
     public Integer totalPage;
     public Long totalElement;
     public List<T> data;
+    // Only set for keyset (cursor) pagination, pass it back to get the next page
+    public String nextCursor;
 
 
     public ResultPagination(boolean isSuccess, String message, HttpStatus httpStatus,
                             int currentPage, int pageSize, Integer nextPage,
                             Integer previousPage, Integer totalPage, Long totalElement,  List<T> data) {
+        this(isSuccess, message, httpStatus, currentPage, pageSize, nextPage, previousPage, totalPage, totalElement, data, null);
+    }
+
+    public ResultPagination(boolean isSuccess, String message, HttpStatus httpStatus,
+                            int currentPage, int pageSize, Integer nextPage,
+                            Integer previousPage, Integer totalPage, Long totalElement,  List<T> data, String nextCursor) {
         this.isSuccess = isSuccess;
         this.message = message;
         this.httpStatus = httpStatus;
@@ -31,6 +39,7 @@ public class ResultPagination<T> {
         this.previousPage = previousPage;
         this.totalPage = totalPage;
         this.totalElement = totalElement;
+        this.nextCursor = nextCursor;
     }
     public ResultPagination(boolean isSuccess, String message, HttpStatus httpStatus,
                             int currentPage, int pageSize, Integer nextPage,
@@ -0,0 +1,21 @@
+package com.example.Job.models.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// Payload of a COMPANY_FOLLOWERS_NOTIFICATION outbox event
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class FollowerNotificationEvent {
+
+    private long companyId;
+
+    // For the digest message when several posts are coalesced, null in events saved before it existed
+    private String companyName;
+
+    private NotificationRequest notification;
+}
@@ -10,7 +10,7 @@ import java.util.List;
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 public class GetJobResponse {
     private long id;
 
@@ -38,4 +38,11 @@ public class GetJobResponse {
 
     private boolean isSaved;
 
+    // Projection constructor used by JPQL / Criteria constructor expressions, isSaved is resolved per user later
+    public GetJobResponse(long id, String companyName, String companyImg, Long companyId, String name,
+                          float yearOfExperience, double salaryFrom, double salaryTo, List<String> city,
+                          Instant createdAt, Instant updatedAt, IndustryEnum industry) {
+        this(id, companyName, companyImg, companyId, name, yearOfExperience, salaryFrom, salaryTo, city,
+                createdAt, updatedAt, industry, false);
+    }
 }
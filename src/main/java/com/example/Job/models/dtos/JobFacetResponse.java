@@ -0,0 +1,28 @@
+package com.example.Job.models.dtos;
+
+import com.example.Job.constant.IndustryEnum;
+import com.example.Job.constant.JobTypeEnum;
+import com.example.Job.constant.LevelEnum;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.Map;
+
+// Number of matched jobs per filter value, shown next to each filter chip of the search page
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobFacetResponse {
+    private long total;
+
+    private Map<IndustryEnum, Long> industries;
+
+    private Map<LevelEnum, Long> levels;
+
+    private Map<JobTypeEnum, Long> jobTypes;
+
+    private Map<String, Long> cities;
+}
@@ -0,0 +1,19 @@
+package com.example.Job.models.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+// Cached result of one search page: only the ordered job ids, rows are hydrated from the per-job cache
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobSearchCacheEntry {
+    private List<Long> jobIds;
+
+    private long totalElements;
+}
@@ -0,0 +1,96 @@
+package com.example.Job.models.dtos;
+
+import com.example.Job.entity.Job;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.BeanWrapperImpl;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Objects;
+import java.util.Set;
+
+// Opaque cursor for keyset (seek) search.
+// It remembers the sort key, the full-text rank and the id of the last row of a page,
+// so the next page can start right after it instead of using OFFSET.
+@Getter
+@AllArgsConstructor
+public class JobSearchCursor {
+
+    // Only non-null columns can be used as keyset sort key: a null sort value has no "after" in SQL.
+    // deadline is optional, sort by it with the offset search.
+    public static final Set<String> SORTABLE_FIELDS = Set.of("createdAt", "salaryFrom", "salaryTo", "yearOfExperience");
+
+    private static final String SEPARATOR = "|";
+
+    private String sortBy;
+
+    private boolean ascending;
+
+    private String sortValue;
+
+    private Float rank;
+
+    private long id;
+
+    public static JobSearchCursor from(Job job, Float rank, String sortBy, boolean ascending) {
+        String sortValue = null;
+        if (sortBy != null && !sortBy.isEmpty()) {
+            Object value = new BeanWrapperImpl(job).getPropertyValue(sortBy);
+            sortValue = value != null ? value.toString() : null;
+        }
+        return new JobSearchCursor(sortBy, ascending, sortValue, rank, job.getId());
+    }
+
+    public String encode() {
+        String raw = String.join(SEPARATOR,
+                sortBy != null ? sortBy : "",
+                ascending ? "a" : "d",
+                sortValue != null ? sortValue : "",
+                rank != null ? rank.toString() : "",
+                String.valueOf(id));
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static JobSearchCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR, -1);
+            if (parts.length != 5) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+
+            return new JobSearchCursor(
+                    parts[0].isEmpty() ? null : parts[0],
+                    "a".equals(parts[1]),
+                    parts[2].isEmpty() ? null : parts[2],
+                    parts[3].isEmpty() ? null : Float.valueOf(parts[3]),
+                    Long.parseLong(parts[4]));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    // A cursor can only continue the same ordering it was created with
+    public boolean matches(String sortBy, boolean ascending) {
+        String requestedSort = sortBy != null && !sortBy.isEmpty() ? sortBy : null;
+        return Objects.equals(this.sortBy, requestedSort) && (requestedSort == null || this.ascending == ascending);
+    }
+
+    // Convert the stored sort value back to the java type of the sort column
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public Comparable sortValueAs(Class<?> type) {
+        if (sortValue == null) return null;
+
+        if (type == Instant.class) return Instant.parse(sortValue);
+        if (type == Double.class || type == double.class) return Double.valueOf(sortValue);
+        if (type == Float.class || type == float.class) return Float.valueOf(sortValue);
+        if (type == Integer.class || type == int.class) return Integer.valueOf(sortValue);
+        if (type == Long.class || type == long.class) return Long.valueOf(sortValue);
+        if (type.isEnum()) return Enum.valueOf((Class<Enum>) type, sortValue);
+
+        return sortValue;
+    }
+}
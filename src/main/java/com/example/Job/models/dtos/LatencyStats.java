@@ -0,0 +1,16 @@
+package com.example.Job.models.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class LatencyStats {
+    private String name;
+
+    private long count;
+
+    private double meanMillis;
+
+    private double maxMillis;
+}
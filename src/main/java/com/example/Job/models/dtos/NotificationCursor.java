@@ -0,0 +1,45 @@
+package com.example.Job.models.dtos;
+
+import com.example.Job.entity.Notification;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+// Opaque cursor of the notification inbox: createdAt and id of the last row of a page,
+// newest first, id as tie-breaker for notifications created at the same instant
+@Getter
+@AllArgsConstructor
+public class NotificationCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private Instant createdAt;
+
+    private long id;
+
+    public static NotificationCursor from(Notification notification) {
+        return new NotificationCursor(notification.getCreatedAt(), notification.getId());
+    }
+
+    public String encode() {
+        String raw = createdAt.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static NotificationCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR, -1);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+
+            return new NotificationCursor(Instant.parse(parts[0]), Long.parseLong(parts[1]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.Job.models.dtos;
+
+import com.example.Job.constant.SuggestionTypeEnum;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class SuggestionResponse {
+    private String text;
+
+    private SuggestionTypeEnum type;
+
+    // Company id for COMPANY suggestions, null for job titles
+    private Long companyId;
+}
@@ -0,0 +1,32 @@
+package com.example.Job.repository;
+
+import com.example.Job.constant.IndustryEnum;
+import com.example.Job.constant.JobTypeEnum;
+import com.example.Job.constant.LevelEnum;
+import com.example.Job.entity.Job;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+// Custom repository fragment for search facets.
+// One grouped query over the matched jobs: one row per (industry, level, jobType, city) combination
+public interface JobFacetRepository {
+
+    List<JobFacetRow> findFacetRows(Specification<Job> spec);
+
+    @Getter
+    @AllArgsConstructor
+    class JobFacetRow {
+        private IndustryEnum industry;
+
+        private LevelEnum level;
+
+        private JobTypeEnum jobType;
+
+        private List<String> cities;
+
+        private long count;
+    }
+}
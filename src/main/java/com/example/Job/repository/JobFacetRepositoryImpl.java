@@ -0,0 +1,62 @@
+package com.example.Job.repository;
+
+import com.example.Job.constant.IndustryEnum;
+import com.example.Job.constant.JobTypeEnum;
+import com.example.Job.constant.LevelEnum;
+import com.example.Job.entity.Job;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.*;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+public class JobFacetRepositoryImpl implements JobFacetRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<JobFacetRow> findFacetRows(Specification<Job> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Job> root = query.from(Job.class);
+
+        Path<IndustryEnum> industry = root.get("industry");
+        Path<LevelEnum> level = root.get("level");
+        Path<JobTypeEnum> jobType = root.get("jobType");
+        Path<Object> city = root.get("city");
+
+        query.multiselect(industry, level, jobType, city, cb.count(root));
+
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.groupBy(industry, level, jobType, city);
+
+        return entityManager.createQuery(query).getResultList().stream()
+                .map(tuple -> new JobFacetRow(
+                        tuple.get(0, IndustryEnum.class),
+                        tuple.get(1, LevelEnum.class),
+                        tuple.get(2, JobTypeEnum.class),
+                        toCities(tuple.get(3)),
+                        tuple.get(4, Long.class)))
+                .toList();
+    }
+
+    // TEXT[] column can come back as a List or as an array depending on the Hibernate type
+    private static List<String> toCities(Object value) {
+        List<String> cities = new ArrayList<>();
+        if (value instanceof Collection<?> collection) {
+            collection.forEach(item -> cities.add(String.valueOf(item)));
+        } else if (value instanceof Object[] array) {
+            Arrays.stream(array).forEach(item -> cities.add(String.valueOf(item)));
+        }
+        return cities;
+    }
+}
@@ -2,6 +2,7 @@ package com.example.Job.repository;
 
 import com.example.Job.constant.JobStatusEnum;
 import com.example.Job.entity.Job;
+import com.example.Job.models.dtos.GetJobResponse;
 import com.example.Job.models.dtos.GetJobResponseDto;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -10,15 +11,35 @@ import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 
-public interface JobRepository extends JpaRepository<Job, Long>, JpaSpecificationExecutor<Job> {
+public interface JobRepository extends JpaRepository<Job, Long>, JpaSpecificationExecutor<Job>, JobSeekRepository, JobFacetRepository, JobResponseRepository {
 
-    @Query("SELECT j FROM Job j JOIN FETCH j.company")
-    Page<Job> findAllWithCompany(Pageable pageable);
+    @Query("SELECT j FROM Job j JOIN FETCH j.company WHERE j.id IN :ids")
+    List<Job> findAllWithCompanyByIdIn(@Param(value = "ids") Collection<Long> ids);
 
-    @Query("SELECT j FROM Job j JOIN FETCH j.company WHERE j.company.id = :companyId")
-    Page<Job> findJobByCompanyId(@Param(value = "companyId") Long companyId, Pageable pageable);
+    // Projections: only the columns of GetJobResponse, no entity, no TEXT columns
+    String JOB_RESPONSE_PROJECTION = """
+            SELECT new com.example.Job.models.dtos.GetJobResponse(
+                j.id, c.name, c.imgUrl, c.id, j.name, j.yearOfExperience,
+                j.salaryFrom, j.salaryTo, j.city, j.createdAt, j.updatedAt, j.industry)
+            """;
+
+    @Query(value = JOB_RESPONSE_PROJECTION + "FROM Job j JOIN j.company c",
+            countQuery = "SELECT count(j) FROM Job j")
+    Page<GetJobResponse> findAllJobResponses(Pageable pageable);
+
+    @Query(value = JOB_RESPONSE_PROJECTION + "FROM Job j JOIN j.company c WHERE c.id = :companyId",
+            countQuery = "SELECT count(j) FROM Job j WHERE j.company.id = :companyId")
+    Page<GetJobResponse> findJobResponsesByCompanyId(@Param(value = "companyId") Long companyId, Pageable pageable);
+
+    @Query(JOB_RESPONSE_PROJECTION + "FROM Job j JOIN j.company c WHERE j.id IN :ids")
+    List<GetJobResponse> findJobResponsesByIdIn(@Param(value = "ids") Collection<Long> ids);
+
+    // Used to (re)build the in-memory search index and suggestions batch by batch
+    @EntityGraph(attributePaths = {"company"})
+    Page<Job> findByJobStatus(JobStatusEnum jobStatus, Pageable pageable);
 
     @Query("SELECT j FROM Job j JOIN FETCH j.company WHERE j.company.id = :companyId AND (:status IS NULL OR j.jobStatus = :status )")
     Page<Job> findJobByCompanyIdWithStatus(@Param(value = "companyId") Long companyId, @Param(value = "status") JobStatusEnum status, Pageable pageable);
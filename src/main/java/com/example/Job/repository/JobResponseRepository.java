@@ -0,0 +1,15 @@
+package com.example.Job.repository;
+
+import com.example.Job.entity.Job;
+import com.example.Job.models.dtos.GetJobResponse;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+// Custom repository fragment for the Specification search path.
+// Selects only the columns of GetJobResponse instead of whole Job entities
+// (no TEXT description / detail, no search_vector, nothing for Hibernate to dirty-check).
+public interface JobResponseRepository {
+
+    Page<GetJobResponse> findResponsePage(Specification<Job> spec, Pageable pageable);
+}
@@ -0,0 +1,73 @@
+package com.example.Job.repository;
+
+import com.example.Job.entity.Company;
+import com.example.Job.entity.Job;
+import com.example.Job.models.dtos.GetJobResponse;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.List;
+
+public class JobResponseRepositoryImpl implements JobResponseRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<GetJobResponse> findResponsePage(Specification<Job> spec, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<GetJobResponse> query = cb.createQuery(GetJobResponse.class);
+        Root<Job> root = query.from(Job.class);
+        Join<Job, Company> company = root.join("company");
+
+        query.select(cb.construct(GetJobResponse.class,
+                root.get("id"),
+                company.get("name"),
+                company.get("imgUrl"),
+                company.get("id"),
+                root.get("name"),
+                root.get("yearOfExperience"),
+                root.get("salaryFrom"),
+                root.get("salaryTo"),
+                root.get("city"),
+                root.get("createdAt"),
+                root.get("updatedAt"),
+                root.get("industry")));
+
+        // The specification adds both the filter predicate and the ordering
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+
+        List<GetJobResponse> content = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+
+        // Like findAll(spec, pageable): no count query when the page is the last one
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(spec));
+    }
+
+    private long count(Specification<Job> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Job> root = query.from(Job.class);
+
+        query.select(cb.count(root));
+
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        // Ordering added by the specification is useless for a count
+        query.orderBy(List.of());
+
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
@@ -1,21 +1,31 @@
 package com.example.Job.repository;
 
-import com.example.Job.entity.Job;
 import com.example.Job.entity.JobSave;
 import com.example.Job.entity.Id.JobSaveId;
+import com.example.Job.models.dtos.GetJobResponse;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.List;
+
 public interface JobSaveRepository extends JpaRepository<JobSave, JobSaveId> {
 
-    @Query("""
-            SELECT js.job FROM JobSave js
+    // Saved jobs of a user, projected to the columns of GetJobResponse
+    @Query(value = """
+            SELECT new com.example.Job.models.dtos.GetJobResponse(
+                j.id, c.name, c.imgUrl, c.id, j.name, j.yearOfExperience,
+                j.salaryFrom, j.salaryTo, j.city, j.createdAt, j.updatedAt, j.industry)
+            FROM JobSave js
             JOIN js.job j
-            JOIN FETCH j.company
+            JOIN j.company c
             WHERE js.user.id = :userId
-            """)
-    Page<Job> findSavedJobByUserId(@Param(value = "userId") Long userId, Pageable pageable);
+            """,
+            countQuery = "SELECT count(js) FROM JobSave js WHERE js.user.id = :userId")
+    Page<GetJobResponse> findSavedJobResponsesByUserId(@Param(value = "userId") Long userId, Pageable pageable);
+
+    @Query("SELECT js.id.jobId FROM JobSave js WHERE js.id.userId = :userId")
+    List<Long> findSavedJobIdsByUserId(@Param(value = "userId") Long userId);
 }
@@ -0,0 +1,25 @@
+package com.example.Job.repository;
+
+import com.example.Job.entity.Job;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+// Custom repository fragment for keyset (seek) search.
+// Unlike findAll(spec, pageable) it runs no OFFSET and no count query, and it also returns
+// the full-text rank of each row so the caller can build the cursor of the next page.
+public interface JobSeekRepository {
+
+    List<JobSeekRow> findSeekPage(Specification<Job> spec, String keyword, int limit);
+
+    @Getter
+    @AllArgsConstructor
+    class JobSeekRow {
+        private Job job;
+
+        // null when the search has no keyword
+        private Float rank;
+    }
+}
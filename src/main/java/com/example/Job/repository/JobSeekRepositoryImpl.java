@@ -0,0 +1,48 @@
+package com.example.Job.repository;
+
+import com.example.Job.entity.Job;
+import com.example.Job.specifications.JobOrdering;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.*;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public class JobSeekRepositoryImpl implements JobSeekRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<JobSeekRow> findSeekPage(Specification<Job> spec, String keyword, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Job> root = query.from(Job.class);
+        root.fetch("company");
+
+        boolean hasKeyword = keyword != null && !keyword.isEmpty();
+        if (hasKeyword) {
+            query.multiselect(root, JobOrdering.rank(root, cb, keyword));
+        } else {
+            query.multiselect(root);
+        }
+
+        // The specification adds both the filter predicate and the ordering
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+
+        List<Tuple> tuples = entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+
+        return tuples.stream()
+                .map(tuple -> new JobSeekRow(
+                        tuple.get(0, Job.class),
+                        hasKeyword ? tuple.get(1, Float.class) : null))
+                .toList();
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.Job.repository;
+
+import com.example.Job.models.dtos.NotificationRequest;
+
+import java.util.List;
+
+// Custom repository fragment for notifying every follower of a company.
+// Followers are paged by user id (keyset), and each page is inserted with one INSERT ... SELECT,
+// so neither CompanyFollow entities nor Notification entities are loaded, and there is no per-row INSERT.
+public interface NotificationFanoutRepository {
+
+    // Insert the notification for the next followers after afterUserId (exclusive), at most limit of them.
+    // Returns the recipient ids inserted, empty once every follower is notified.
+    List<Long> insertForFollowersAfter(long companyId, long afterUserId, int limit, NotificationRequest notificationRequest);
+}
@@ -0,0 +1,42 @@
+package com.example.Job.repository;
+
+import com.example.Job.models.dtos.NotificationRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+
+public class NotificationFanoutRepositoryImpl implements NotificationFanoutRepository {
+
+    // RETURNING hands back the recipients of the chunk in the same round trip, for the WebSocket push
+    private static final String INSERT_FOR_FOLLOWERS = """
+            INSERT INTO notifications (title, message, recipient_id, is_read, link, created_at)
+            SELECT ?, ?, cf.user_id, false, ?, ?
+            FROM company_follow cf
+            WHERE cf.company_id = ? AND cf.user_id > ?
+            ORDER BY cf.user_id
+            LIMIT ?
+            RETURNING recipient_id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public NotificationFanoutRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<Long> insertForFollowersAfter(long companyId, long afterUserId, int limit, NotificationRequest notificationRequest) {
+        Instant createdAt = notificationRequest.getCreatedAt() != null ? notificationRequest.getCreatedAt() : Instant.now();
+
+        return jdbcTemplate.queryForList(INSERT_FOR_FOLLOWERS, Long.class,
+                notificationRequest.getTitle(),
+                notificationRequest.getMessage(),
+                notificationRequest.getLink(),
+                Timestamp.from(createdAt),
+                companyId,
+                afterUserId,
+                limit);
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.Job.repository;
+
+import com.example.Job.entity.Id.NotificationReadId;
+import com.example.Job.entity.NotificationRead;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface NotificationReadRepository extends JpaRepository<NotificationRead, NotificationReadId> {
+
+    // Which of the given broadcasts the user has read
+    @Query("SELECT r.id.notificationId FROM NotificationRead r WHERE r.id.userId = :userId AND r.id.notificationId IN :notificationIds")
+    List<Long> findReadNotificationIds(@Param("userId") Long userId, @Param("notificationIds") Collection<Long> notificationIds);
+}
@@ -1,18 +1,63 @@
 package com.example.Job.repository;
 
 import com.example.Job.entity.Notification;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
 import java.util.List;
 
-public interface NotificationRepository extends JpaRepository<Notification, Long> {
+public interface NotificationRepository extends JpaRepository<Notification, Long>, NotificationFanoutRepository {
 
-    List<Notification> findNotificationsByRecipientId(Long recipientId);
+    // Inbox pages, newest first, served by the (recipient_id, created_at, id) index
+    @Query("SELECT n FROM Notification n WHERE n.recipientId = :recipientId ORDER BY n.createdAt DESC, n.id DESC")
+    List<Notification> findInboxFirstPage(@Param("recipientId") Long recipientId, Pageable pageable);
 
+    @Query("SELECT n FROM Notification n WHERE n.recipientId = :recipientId " +
+            "AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id)) " +
+            "ORDER BY n.createdAt DESC, n.id DESC")
+    List<Notification> findInboxPageAfter(@Param("recipientId") Long recipientId, @Param("createdAt") Instant createdAt,
+                                          @Param("id") long id, Pageable pageable);
+
+    // Same pages over the broadcasts of followed companies, merged with the personal ones
+    @Query("SELECT n FROM Notification n WHERE n.recipientId IS NULL AND n.companyId IN " +
+            "(SELECT cf.id.companyId FROM CompanyFollow cf WHERE cf.id.userId = :userId AND (cf.followedAt IS NULL OR cf.followedAt <= n.createdAt)) " +
+            "ORDER BY n.createdAt DESC, n.id DESC")
+    List<Notification> findBroadcastFirstPage(@Param("userId") Long userId, Pageable pageable);
+
+    @Query("SELECT n FROM Notification n WHERE n.recipientId IS NULL AND n.companyId IN " +
+            "(SELECT cf.id.companyId FROM CompanyFollow cf WHERE cf.id.userId = :userId AND (cf.followedAt IS NULL OR cf.followedAt <= n.createdAt)) " +
+            "AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id)) " +
+            "ORDER BY n.createdAt DESC, n.id DESC")
+    List<Notification> findBroadcastPageAfter(@Param("userId") Long userId, @Param("createdAt") Instant createdAt,
+                                              @Param("id") long id, Pageable pageable);
+
+    @Query("SELECT COUNT(n) FROM Notification n WHERE n.recipientId = :recipientId AND n.isRead = false")
+    long countUnreadByRecipientId(@Param("recipientId") Long recipientId);
+
+    @Query("SELECT COUNT(n) FROM Notification n WHERE n.recipientId IS NULL AND n.companyId IN " +
+            "(SELECT cf.id.companyId FROM CompanyFollow cf WHERE cf.id.userId = :userId AND (cf.followedAt IS NULL OR cf.followedAt <= n.createdAt)) " +
+            "AND NOT EXISTS (SELECT r FROM NotificationRead r WHERE r.id.notificationId = n.id AND r.id.userId = :userId)")
+    long countUnreadBroadcasts(@Param("userId") Long userId);
+
+    // Only flips an unread row, so the caller knows whether the unread counter moves
     @Modifying
-    @Query("UPDATE Notification n SET n.isRead = true WHERE n.id = :notificationId")
+    @Query("UPDATE Notification n SET n.isRead = true WHERE n.id = :notificationId AND n.isRead = false")
     int markAsReadById(@Param("notificationId") long notificationId);
+
+    @Modifying
+    @Query("UPDATE Notification n SET n.isRead = true WHERE n.recipientId = :recipientId AND n.isRead = false")
+    int markAllAsReadByRecipientId(@Param("recipientId") Long recipientId);
+
+    // Read markers for every unread broadcast of the followed companies, in one statement
+    @Modifying
+    @Query(value = "INSERT INTO notification_reads (notification_id, user_id, read_at) " +
+            "SELECT n.id, :userId, now() FROM notifications n " +
+            "JOIN company_follow cf ON cf.company_id = n.company_id AND cf.user_id = :userId " +
+            "WHERE n.recipient_id IS NULL AND (cf.followed_at IS NULL OR cf.followed_at <= n.created_at) " +
+            "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int markAllBroadcastsAsRead(@Param("userId") Long userId);
 }
@@ -0,0 +1,26 @@
+package com.example.Job.repository;
+
+import com.example.Job.entity.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // SKIP LOCKED: relays on several nodes take different events instead of waiting on each other
+    @Query(value = "SELECT * FROM outbox_events WHERE published_at IS NULL ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<OutboxEvent> lockUnpublished(@Param("limit") int limit);
+
+    long countByPublishedAtIsNull();
+
+    // Published events are in the stream already, the rows are only kept for a while to look into
+    @Modifying
+    @Query(value = "DELETE FROM outbox_events WHERE id IN " +
+            "(SELECT id FROM outbox_events WHERE published_at < :before LIMIT :limit)", nativeQuery = true)
+    int deletePublishedBefore(@Param("before") Instant before, @Param("limit") int limit);
+}
@@ -0,0 +1,92 @@
+package com.example.Job.search;
+
+import com.example.Job.constant.IndustryEnum;
+import com.example.Job.constant.JobTypeEnum;
+import com.example.Job.constant.LevelEnum;
+import com.example.Job.models.dtos.JobFilter;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.*;
+
+// One bitmap of doc ids per enum value and per city, and bucketed bitmaps for experience and salary,
+// so a JobFilter resolves to the set of matching jobs with a few AND / OR over containers
+// instead of a comparison per job. Doc ids are the raw job ids, sparse once old jobs are deleted:
+// Roaring bitmaps only store the 64K chunks that hold ids, where a BitSet allocates a word
+// for every id below the highest one. Not thread-safe, guarded by the lock of InMemoryJobIndex.
+public class BitmapFilterIndex {
+
+    private final RoaringBitmap all = new RoaringBitmap();
+
+    private final Map<IndustryEnum, RoaringBitmap> industries = new EnumMap<>(IndustryEnum.class);
+    private final Map<JobTypeEnum, RoaringBitmap> jobTypes = new EnumMap<>(JobTypeEnum.class);
+    private final Map<LevelEnum, RoaringBitmap> levels = new EnumMap<>(LevelEnum.class);
+    private final Map<String, RoaringBitmap> cities = new HashMap<>();
+
+    private final RangeBitmap experience = RangeBitmap.linear();
+    private final RangeBitmap salaryFrom = RangeBitmap.exponential();
+    private final RangeBitmap salaryTo = RangeBitmap.exponential();
+
+    public void add(JobDocument document) {
+        int docId = document.getDocId();
+
+        all.add(docId);
+        if (document.getIndustry() != null) industries.computeIfAbsent(document.getIndustry(), key -> new RoaringBitmap()).add(docId);
+        if (document.getJobType() != null) jobTypes.computeIfAbsent(document.getJobType(), key -> new RoaringBitmap()).add(docId);
+        if (document.getLevel() != null) levels.computeIfAbsent(document.getLevel(), key -> new RoaringBitmap()).add(docId);
+        document.getCities().forEach(city -> cities.computeIfAbsent(city, key -> new RoaringBitmap()).add(docId));
+
+        experience.add(docId, document.getYearOfExperience());
+        salaryFrom.add(docId, document.getSalaryFrom());
+        salaryTo.add(docId, document.getSalaryTo());
+    }
+
+    public void remove(JobDocument document) {
+        int docId = document.getDocId();
+
+        all.remove(docId);
+        clear(industries, document.getIndustry(), docId);
+        clear(jobTypes, document.getJobType(), docId);
+        clear(levels, document.getLevel(), docId);
+        document.getCities().forEach(city -> clear(cities, city, docId));
+
+        experience.remove(docId);
+        salaryFrom.remove(docId);
+        salaryTo.remove(docId);
+    }
+
+    // Same semantics as the JobSpecifications filters
+    public RoaringBitmap filter(JobFilter filter) {
+        RoaringBitmap result = all.clone();
+
+        if (filter.getIndustry() != null) result.and(bitsOf(industries, filter.getIndustry()));
+        if (filter.getJobType() != null) result.and(bitsOf(jobTypes, filter.getJobType()));
+        if (filter.getLevel() != null) result.and(bitsOf(levels, filter.getLevel()));
+
+        if (filter.getCities() != null && !filter.getCities().isEmpty()) {
+            // Array overlap (&&): any of the requested cities
+            result.and(FastAggregation.or(filter.getCities().stream().map(city -> bitsOf(cities, city)).iterator()));
+        }
+
+        if (filter.getMinExperience() != null) result.and(experience.atLeast(filter.getMinExperience()));
+        if (filter.getMaxExperience() != null) result.and(experience.atMost(filter.getMaxExperience()));
+        if (filter.getMinSalary() != null) result.and(salaryFrom.atLeast(filter.getMinSalary()));
+        if (filter.getMaxSalary() != null) result.and(salaryTo.atMost(filter.getMaxSalary()));
+
+        return result;
+    }
+
+    private static <K> RoaringBitmap bitsOf(Map<K, RoaringBitmap> bitmaps, K key) {
+        return bitmaps.getOrDefault(key, new RoaringBitmap());
+    }
+
+    private static <K> void clear(Map<K, RoaringBitmap> bitmaps, K key, int docId) {
+        if (key == null) return;
+
+        RoaringBitmap bits = bitmaps.get(key);
+        if (bits == null) return;
+
+        bits.remove(docId);
+        if (bits.isEmpty()) bitmaps.remove(key);
+    }
+}
@@ -0,0 +1,286 @@
+package com.example.Job.search;
+
+import com.example.Job.entity.Job;
+import com.example.Job.models.dtos.JobFilter;
+import com.example.Job.specifications.JobSpecifications;
+import com.example.Job.utils.TextUtil;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// In-process full-text index over ACTIVE jobs, the in-memory counterpart of the postgres search:
+// - fts_match / fts_rank   -> inverted index on unaccented name + description, AND of terms, BM25 scoring
+// - fuzzy_match_partial    -> trigram overlap between the keyword and the job name
+// - structured filters     -> BitmapFilterIndex
+// Writes (job created / status changed) are rare, so a read-write lock is enough.
+public class InMemoryJobIndex {
+
+    // BM25 parameters, the usual defaults
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    // Name matches count more than description matches, like setweight 'A' vs 'B' of search_vector
+    private static final int NAME_BOOST = 3;
+
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private final Map<String, PostingList> trigramPostings = new HashMap<>();
+    private final Map<Integer, JobDocument> documents = new HashMap<>();
+    private final BitmapFilterIndex filterIndex = new BitmapFilterIndex();
+    private long totalLength;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void add(Job job) {
+        JobDocument document = toDocument(job);
+
+        lock.writeLock().lock();
+        try {
+            removeDocument(document.getDocId());
+
+            document.getTermFrequencies().forEach((term, frequency) ->
+                    postings.computeIfAbsent(term, key -> new PostingList()).add(document.getDocId(), frequency));
+            document.getNameTrigrams().forEach(trigram ->
+                    trigramPostings.computeIfAbsent(trigram, key -> new PostingList()).add(document.getDocId(), 1));
+
+            documents.put(document.getDocId(), document);
+            filterIndex.add(document);
+            totalLength += document.getLength();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long jobId) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(Math.toIntExact(jobId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int vocabularySize() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public JobIndexResult search(JobFilter jobFilter, String sortBy, boolean isAscending, int offset, int limit) {
+        lock.readLock().lock();
+        try {
+            // Structured filters first, as one bitmap, then the keyword match restricted to it
+            RoaringBitmap allowed = filterIndex.filter(jobFilter);
+            List<Hit> hits = match(jobFilter.getKeyword(), allowed);
+
+            hits.sort(hitOrder(sortBy, isAscending));
+
+            List<Long> jobIds = new ArrayList<>();
+            for (int i = offset; i < Math.min(hits.size(), offset + limit); i++) {
+                jobIds.add((long) hits.get(i).docId);
+            }
+
+            return new JobIndexResult(jobIds, hits.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Full-text matches OR fuzzy title matches, like hasKeyword().or(hasTitleMatchPartialWithSimilarity())
+    private List<Hit> match(String keyword, RoaringBitmap allowed) {
+        List<Hit> hits = new ArrayList<>();
+
+        if (keyword == null || keyword.isEmpty()) {
+            allowed.forEach((int docId) -> hits.add(new Hit(docId, 0, 0)));
+            return hits;
+        }
+
+        Map<Integer, Double> ftsScores = fullTextMatch(keyword);
+        Map<Integer, Double> fuzzyScores = fuzzyMatch(keyword);
+
+        ftsScores.forEach((docId, score) -> {
+            if (allowed.contains(docId)) hits.add(new Hit(docId, score, fuzzyScores.getOrDefault(docId, 0.0)));
+        });
+        fuzzyScores.forEach((docId, similarity) -> {
+            if (allowed.contains(docId) && !ftsScores.containsKey(docId)) hits.add(new Hit(docId, 0, similarity));
+        });
+
+        return hits;
+    }
+
+    // Every keyword term must appear (plainto_tsquery is an AND), scored with BM25
+    private Map<Integer, Double> fullTextMatch(String keyword) {
+        List<String> terms = TextUtil.tokenize(keyword).stream().distinct().toList();
+        Map<Integer, Double> scores = new HashMap<>();
+        if (terms.isEmpty()) return scores;
+
+        List<PostingList> lists = new ArrayList<>();
+        for (String term : terms) {
+            PostingList list = postings.get(term);
+            if (list == null || list.isEmpty()) return scores;
+            lists.add(list);
+        }
+
+        // Walk the shortest list and probe the others
+        lists.sort(Comparator.comparingInt(PostingList::size));
+        PostingList shortest = lists.get(0);
+        double averageLength = documents.isEmpty() ? 1 : (double) totalLength / documents.size();
+
+        for (int i = 0; i < shortest.size(); i++) {
+            int docId = shortest.docIdAt(i);
+            JobDocument document = documents.get(docId);
+            double score = bm25(shortest, shortest.frequencyAt(i), document, averageLength);
+
+            boolean inAll = true;
+            for (int j = 1; j < lists.size() && inAll; j++) {
+                PostingList list = lists.get(j);
+                int position = list.indexOf(docId);
+                if (position < 0) inAll = false;
+                else score += bm25(list, list.frequencyAt(position), document, averageLength);
+            }
+
+            if (inAll) scores.put(docId, score);
+        }
+
+        return scores;
+    }
+
+    private double bm25(PostingList list, int frequency, JobDocument document, double averageLength) {
+        double n = documents.size();
+        double idf = Math.log(1 + (n - list.size() + 0.5) / (list.size() + 0.5));
+        double norm = K1 * (1 - B + B * document.getLength() / averageLength);
+        return idf * frequency * (K1 + 1) / (frequency + norm);
+    }
+
+    // Share of the keyword trigrams found in the job name, kept above the same threshold as pg_trgm
+    private Map<Integer, Double> fuzzyMatch(String keyword) {
+        Set<String> keywordTrigrams = trigrams(TextUtil.normalize(keyword));
+        Map<Integer, Double> similarities = new HashMap<>();
+        if (keywordTrigrams.isEmpty()) return similarities;
+
+        Map<Integer, Integer> shared = new HashMap<>();
+        for (String trigram : keywordTrigrams) {
+            PostingList list = trigramPostings.get(trigram);
+            if (list == null) continue;
+            for (int i = 0; i < list.size(); i++) {
+                shared.merge(list.docIdAt(i), 1, Integer::sum);
+            }
+        }
+
+        shared.forEach((docId, count) -> {
+            double similarity = (double) count / keywordTrigrams.size();
+            if (similarity >= JobSpecifications.defaultSimilarityThreshold) {
+                similarities.put(docId, similarity);
+            }
+        });
+        return similarities;
+    }
+
+    // Same order as the DB search: sortBy first, then rank (full-text before fuzzy-only), newest job last tie-breaker
+    private Comparator<Hit> hitOrder(String sortBy, boolean isAscending) {
+        Comparator<Hit> byRank = Comparator.<Hit>comparingDouble(hit -> hit.score).reversed()
+                .thenComparing(Comparator.<Hit>comparingDouble(hit -> hit.similarity).reversed())
+                .thenComparing(Comparator.<Hit>comparingInt(hit -> hit.docId).reversed());
+
+        if (sortBy == null || sortBy.isEmpty()) return byRank;
+
+        Comparator<JobDocument> field = switch (sortBy) {
+            case "createdAt" -> Comparator.comparing(JobDocument::getCreatedAt, Comparator.nullsLast(Comparator.naturalOrder()));
+            case "deadline" -> Comparator.comparing(JobDocument::getDeadline, Comparator.nullsLast(Comparator.naturalOrder()));
+            case "salaryFrom" -> Comparator.comparingDouble(JobDocument::getSalaryFrom);
+            case "salaryTo" -> Comparator.comparingDouble(JobDocument::getSalaryTo);
+            case "yearOfExperience" -> Comparator.comparingDouble(JobDocument::getYearOfExperience);
+            case "name" -> Comparator.comparing(JobDocument::getName, Comparator.nullsLast(Comparator.naturalOrder()));
+            case "id" -> Comparator.comparingInt(JobDocument::getDocId);
+            default -> throw new RuntimeException("In-memory search cannot sort by " + sortBy);
+        };
+        if (!isAscending) field = field.reversed();
+
+        Comparator<JobDocument> documentOrder = field;
+        return Comparator.<Hit, JobDocument>comparing(hit -> documents.get(hit.docId), documentOrder).thenComparing(byRank);
+    }
+
+    private void removeDocument(int docId) {
+        JobDocument existing = documents.remove(docId);
+        if (existing == null) return;
+
+        existing.getTermFrequencies().keySet().forEach(term -> removePosting(postings, term, docId));
+        existing.getNameTrigrams().forEach(trigram -> removePosting(trigramPostings, trigram, docId));
+        filterIndex.remove(existing);
+        totalLength -= existing.getLength();
+    }
+
+    private static void removePosting(Map<String, PostingList> index, String key, int docId) {
+        PostingList list = index.get(key);
+        if (list == null) return;
+
+        list.remove(docId);
+        if (list.isEmpty()) index.remove(key);
+    }
+
+    private static JobDocument toDocument(Job job) {
+        List<String> nameTokens = TextUtil.tokenize(job.getName());
+        List<String> descriptionTokens = TextUtil.tokenize(job.getDescription());
+
+        Map<String, Integer> termFrequencies = new HashMap<>();
+        nameTokens.forEach(token -> termFrequencies.merge(token, NAME_BOOST, Integer::sum));
+        descriptionTokens.forEach(token -> termFrequencies.merge(token, 1, Integer::sum));
+
+        int length = nameTokens.size() * NAME_BOOST + descriptionTokens.size();
+
+        return new JobDocument(
+                Math.toIntExact(job.getId()),
+                termFrequencies,
+                length,
+                trigrams(TextUtil.normalize(job.getName())),
+                job.getName(),
+                job.getIndustry(),
+                job.getJobType(),
+                job.getLevel(),
+                job.getYearOfExperience(),
+                job.getSalaryFrom(),
+                job.getSalaryTo(),
+                job.getCity() != null ? List.copyOf(job.getCity()) : List.of(),
+                job.getCreatedAt(),
+                job.getDeadline());
+    }
+
+    // pg_trgm style trigrams: each word padded with two spaces in front and one behind
+    private static Set<String> trigrams(String text) {
+        Set<String> trigrams = new HashSet<>();
+        for (String word : text.split("[^\\p{L}\\p{N}]+")) {
+            if (word.isEmpty()) continue;
+
+            String padded = "  " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                trigrams.add(padded.substring(i, i + 3));
+            }
+        }
+        return trigrams;
+    }
+
+    private static class Hit {
+        private final int docId;
+        private final double score;
+        private final double similarity;
+
+        private Hit(int docId, double score, double similarity) {
+            this.docId = docId;
+            this.score = score;
+            this.similarity = similarity;
+        }
+    }
+}
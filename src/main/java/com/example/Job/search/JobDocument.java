@@ -0,0 +1,46 @@
+package com.example.Job.search;
+
+import com.example.Job.constant.IndustryEnum;
+import com.example.Job.constant.JobTypeEnum;
+import com.example.Job.constant.LevelEnum;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// What the in-memory index keeps about one ACTIVE job: term frequencies for scoring and removal,
+// name trigrams for fuzzy matching and the attributes needed by filters and sorting
+@Getter
+@AllArgsConstructor
+public class JobDocument {
+    private int docId;
+
+    private Map<String, Integer> termFrequencies;
+
+    private int length;
+
+    private Set<String> nameTrigrams;
+
+    private String name;
+
+    private IndustryEnum industry;
+
+    private JobTypeEnum jobType;
+
+    private LevelEnum level;
+
+    private float yearOfExperience;
+
+    private double salaryFrom;
+
+    private double salaryTo;
+
+    private List<String> cities;
+
+    private Instant createdAt;
+
+    private Instant deadline;
+}
@@ -0,0 +1,15 @@
+package com.example.Job.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class JobIndexResult {
+    // Job ids of the requested page, in result order
+    private List<Long> jobIds;
+
+    private long totalElements;
+}
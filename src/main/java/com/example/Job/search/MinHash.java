@@ -0,0 +1,57 @@
+package com.example.Job.search;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Random;
+
+// MinHash signatures: the share of equal positions between two signatures estimates
+// the Jaccard similarity of the two token sets they were computed from
+public class MinHash {
+
+    private final int[] seeds;
+
+    public MinHash(int numHashes, long seed) {
+        Random random = new Random(seed);
+        this.seeds = new int[numHashes];
+        for (int i = 0; i < numHashes; i++) {
+            seeds[i] = random.nextInt();
+        }
+    }
+
+    public int size() {
+        return seeds.length;
+    }
+
+    public int[] signature(Collection<String> tokens) {
+        int[] signature = new int[seeds.length];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+
+        for (String token : tokens) {
+            // String.hashCode is specified, so signatures are the same on every instance
+            int base = token.hashCode();
+            for (int i = 0; i < seeds.length; i++) {
+                int hash = mix(base ^ seeds[i]);
+                if (hash < signature[i]) signature[i] = hash;
+            }
+        }
+        return signature;
+    }
+
+    public static double similarity(int[] first, int[] second) {
+        int equal = 0;
+        for (int i = 0; i < first.length; i++) {
+            if (first[i] == second[i]) equal++;
+        }
+        return (double) equal / first.length;
+    }
+
+    // murmur3 finalizer, spreads the bits of the seeded hash
+    private static int mix(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        hash *= 0xc2b2ae35;
+        hash ^= hash >>> 16;
+        return hash;
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.Job.search;
+
+import java.util.Arrays;
+
+// Posting list of one term: doc ids kept sorted, with the term frequency of each doc.
+// Primitive int arrays instead of List<Integer>, so a posting costs 8 bytes instead of a boxed object.
+public class PostingList {
+
+    private int[] docIds = new int[4];
+    private int[] frequencies = new int[4];
+    private int size;
+
+    public void add(int docId, int frequency) {
+        int position;
+        if (size == 0 || docIds[size - 1] < docId) {
+            // Common case: new jobs get increasing ids
+            position = size;
+        } else {
+            position = Arrays.binarySearch(docIds, 0, size, docId);
+            if (position >= 0) {
+                frequencies[position] = frequency;
+                return;
+            }
+            position = -position - 1;
+        }
+
+        if (size == docIds.length) {
+            docIds = Arrays.copyOf(docIds, size * 2);
+            frequencies = Arrays.copyOf(frequencies, size * 2);
+        }
+
+        System.arraycopy(docIds, position, docIds, position + 1, size - position);
+        System.arraycopy(frequencies, position, frequencies, position + 1, size - position);
+        docIds[position] = docId;
+        frequencies[position] = frequency;
+        size++;
+    }
+
+    public boolean remove(int docId) {
+        int position = indexOf(docId);
+        if (position < 0) return false;
+
+        System.arraycopy(docIds, position + 1, docIds, position, size - position - 1);
+        System.arraycopy(frequencies, position + 1, frequencies, position, size - position - 1);
+        size--;
+        return true;
+    }
+
+    public int indexOf(int docId) {
+        return Arrays.binarySearch(docIds, 0, size, docId);
+    }
+
+    public int docIdAt(int index) {
+        return docIds[index];
+    }
+
+    public int frequencyAt(int index) {
+        return frequencies[index];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.Job.search;
+
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleToIntFunction;
+
+// Bucketed bitmaps over one numeric attribute.
+// A range query ORs the buckets fully inside the range and only checks the exact value
+// of the docs in the boundary bucket, instead of comparing every doc.
+public class RangeBitmap {
+
+    // Must never decrease when the value grows
+    private final DoubleToIntFunction bucketOf;
+
+    private final TreeMap<Integer, RoaringBitmap> buckets = new TreeMap<>();
+    private final Map<Integer, Double> values = new HashMap<>();
+
+    public RangeBitmap(DoubleToIntFunction bucketOf) {
+        this.bucketOf = bucketOf;
+    }
+
+    // One bucket per unit, e.g. one per year of experience
+    public static RangeBitmap linear() {
+        return new RangeBitmap(value -> (int) Math.floor(value));
+    }
+
+    // One bucket per power of two, whatever the unit of the values (salaries in VND or in millions)
+    public static RangeBitmap exponential() {
+        return new RangeBitmap(value -> value < 1 ? 0 : Math.getExponent(value) + 1);
+    }
+
+    public void add(int docId, double value) {
+        remove(docId);
+
+        buckets.computeIfAbsent(bucketOf.applyAsInt(value), key -> new RoaringBitmap()).add(docId);
+        values.put(docId, value);
+    }
+
+    public void remove(int docId) {
+        Double existing = values.remove(docId);
+        if (existing == null) return;
+
+        int bucket = bucketOf.applyAsInt(existing);
+        RoaringBitmap bits = buckets.get(bucket);
+        bits.remove(docId);
+        if (bits.isEmpty()) buckets.remove(bucket);
+    }
+
+    public RoaringBitmap atLeast(double min) {
+        int boundary = bucketOf.applyAsInt(min);
+
+        RoaringBitmap result = FastAggregation.or(buckets.tailMap(boundary, false).values().iterator());
+        addMatching(result, boundary, value -> value >= min);
+        return result;
+    }
+
+    public RoaringBitmap atMost(double max) {
+        int boundary = bucketOf.applyAsInt(max);
+
+        RoaringBitmap result = FastAggregation.or(buckets.headMap(boundary, false).values().iterator());
+        addMatching(result, boundary, value -> value <= max);
+        return result;
+    }
+
+    private void addMatching(RoaringBitmap result, int bucket, DoublePredicate predicate) {
+        RoaringBitmap bits = buckets.get(bucket);
+        if (bits == null) return;
+
+        bits.forEach((int docId) -> {
+            if (predicate.test(values.get(docId))) result.add(docId);
+        });
+    }
+}
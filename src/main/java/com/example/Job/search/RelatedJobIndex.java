@@ -0,0 +1,170 @@
+package com.example.Job.search;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Related jobs precomputed with MinHash + LSH over title and skill tokens.
+// Signatures are cut into bands, jobs sharing one band bucket become candidates, and each job keeps
+// its best candidates ranked by estimated Jaccard similarity, so a lookup is a single map read.
+public class RelatedJobIndex {
+
+    // 16 bands of 4 rows: pairs around 0.5 similarity are found with high probability
+    private static final int BANDS = 16;
+    private static final int ROWS = 4;
+
+    // How many related jobs are kept per job, the max limit a lookup can ask for
+    public static final int MAX_RELATED = 20;
+
+    // Candidates below this estimated similarity are not worth showing
+    private static final double MIN_SIMILARITY = 0.1;
+
+    private final MinHash minHash = new MinHash(BANDS * ROWS, 20240601L);
+
+    private final Map<Integer, int[]> signatures = new HashMap<>();
+    private final List<Map<Long, Set<Integer>>> buckets = new ArrayList<>();
+    private final Map<Integer, List<Related>> related = new HashMap<>();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public RelatedJobIndex() {
+        for (int band = 0; band < BANDS; band++) {
+            buckets.add(new HashMap<>());
+        }
+    }
+
+    public void add(long jobId, Collection<String> tokens) {
+        if (tokens.isEmpty()) return;
+
+        int docId = Math.toIntExact(jobId);
+        int[] signature = minHash.signature(tokens);
+
+        lock.writeLock().lock();
+        try {
+            removeDocument(docId);
+
+            for (int band = 0; band < BANDS; band++) {
+                buckets.get(band).computeIfAbsent(bandKey(signature, band), key -> new HashSet<>()).add(docId);
+            }
+            signatures.put(docId, signature);
+
+            List<Related> ranked = rank(docId, signature);
+            // The relation is symmetric: the new job may enter the list of its candidates
+            ranked.forEach(entry -> offer(entry.docId, new Related(docId, entry.similarity)));
+            related.put(docId, new ArrayList<>(ranked.subList(0, Math.min(MAX_RELATED, ranked.size()))));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long jobId) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(Math.toIntExact(jobId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // null when the job is not indexed, empty when it has no similar job; the caller falls back in both cases
+    public List<Long> relatedTo(long jobId, int limit) {
+        lock.readLock().lock();
+        try {
+            List<Related> list = related.get(Math.toIntExact(jobId));
+            if (list == null) return null;
+
+            return list.stream()
+                    .limit(limit)
+                    .map(entry -> (long) entry.docId)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return signatures.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void offer(int docId, Related candidate) {
+        List<Related> list = related.computeIfAbsent(docId, key -> new ArrayList<>());
+        list.removeIf(entry -> entry.docId == candidate.docId);
+
+        if (list.size() >= MAX_RELATED && Related.ORDER.compare(candidate, list.get(list.size() - 1)) >= 0) return;
+
+        list.add(candidate);
+        list.sort(Related.ORDER);
+        if (list.size() > MAX_RELATED) list.remove(list.size() - 1);
+    }
+
+    // Every other indexed job sharing a bucket with this one, most similar first
+    private List<Related> rank(int docId, int[] signature) {
+        Set<Integer> candidates = new HashSet<>();
+        for (int band = 0; band < BANDS; band++) {
+            candidates.addAll(buckets.get(band).getOrDefault(bandKey(signature, band), Set.of()));
+        }
+        candidates.remove(docId);
+
+        List<Related> ranked = new ArrayList<>();
+        for (int candidate : candidates) {
+            double similarity = MinHash.similarity(signature, signatures.get(candidate));
+            if (similarity >= MIN_SIMILARITY) ranked.add(new Related(candidate, similarity));
+        }
+        ranked.sort(Related.ORDER);
+        return ranked;
+    }
+
+    private void removeDocument(int docId) {
+        int[] signature = signatures.remove(docId);
+        if (signature == null) return;
+
+        Set<Integer> neighbours = new HashSet<>();
+        for (int band = 0; band < BANDS; band++) {
+            long key = bandKey(signature, band);
+            Set<Integer> bucket = buckets.get(band).get(key);
+            if (bucket == null) continue;
+
+            bucket.remove(docId);
+            neighbours.addAll(bucket);
+            if (bucket.isEmpty()) buckets.get(band).remove(key);
+        }
+        related.remove(docId);
+
+        // Only jobs sharing a bucket could list the removed one, they are ranked again so their lists
+        // keep MAX_RELATED entries while enough candidates are left
+        for (int neighbour : neighbours) {
+            List<Related> list = related.get(neighbour);
+            if (list == null || list.stream().noneMatch(entry -> entry.docId == docId)) continue;
+
+            List<Related> ranked = rank(neighbour, signatures.get(neighbour));
+            related.put(neighbour, new ArrayList<>(ranked.subList(0, Math.min(MAX_RELATED, ranked.size()))));
+        }
+    }
+
+    private static long bandKey(int[] signature, int band) {
+        long key = 1;
+        for (int row = band * ROWS; row < (band + 1) * ROWS; row++) {
+            key = key * 31 + signature[row];
+        }
+        return key;
+    }
+
+    private static class Related {
+        // Most similar first, newest job first on ties
+        private static final Comparator<Related> ORDER = Comparator.<Related>comparingDouble(entry -> entry.similarity).reversed()
+                .thenComparing(Comparator.<Related>comparingInt(entry -> entry.docId).reversed());
+
+        private final int docId;
+        private final double similarity;
+
+        private Related(int docId, double similarity) {
+            this.docId = docId;
+            this.similarity = similarity;
+        }
+    }
+}
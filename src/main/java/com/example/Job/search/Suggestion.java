@@ -0,0 +1,21 @@
+package com.example.Job.search;
+
+import com.example.Job.constant.SuggestionTypeEnum;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// One entry of the suggestion trie: a job title or a company name with its popularity
+@Getter
+@AllArgsConstructor
+public class Suggestion {
+    // Unique per entry, e.g. "JOB_TITLE:ke toan" or "COMPANY:12"
+    private String key;
+
+    private String text;
+
+    private SuggestionTypeEnum type;
+
+    private Long companyId;
+
+    private long weight;
+}
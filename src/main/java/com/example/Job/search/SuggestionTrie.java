@@ -0,0 +1,153 @@
+package com.example.Job.search;
+
+import com.example.Job.utils.TextUtil;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Prefix trie over unaccented suggestion texts. Every node keeps the top suggestions of its subtree,
+// so a lookup only walks the typed prefix and copies a short list, whatever the number of entries.
+// Each word start is indexed too, so "toan" also suggests "Ke toan tong hop".
+public class SuggestionTrie {
+
+    // How many suggestions each node keeps, the max limit a lookup can ask for
+    public static final int TOP_K = 10;
+
+    private final Node root = new Node();
+    private final Map<String, Suggestion> suggestions = new HashMap<>();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Add a suggestion or update its weight
+    public void put(Suggestion suggestion) {
+        lock.writeLock().lock();
+        try {
+            Suggestion existing = suggestions.get(suggestion.getKey());
+            if (existing != null) {
+                indexedForms(existing.getText()).forEach(form -> detach(form, existing.getKey()));
+            }
+
+            suggestions.put(suggestion.getKey(), suggestion);
+            indexedForms(suggestion.getText()).forEach(form -> attach(form, suggestion));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String key) {
+        lock.writeLock().lock();
+        try {
+            Suggestion existing = suggestions.remove(key);
+            if (existing == null) return;
+
+            indexedForms(existing.getText()).forEach(form -> detach(form, key));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<Suggestion> suggest(String prefix, int limit) {
+        String normalized = TextUtil.normalize(prefix);
+        if (normalized.isEmpty()) return List.of();
+
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            for (int i = 0; i < normalized.length() && node != null; i++) {
+                node = node.children.get(normalized.charAt(i));
+            }
+
+            if (node == null) return List.of();
+            return node.top.subList(0, Math.min(limit, node.top.size()));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return suggestions.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void attach(String form, Suggestion suggestion) {
+        List<Node> path = walk(form, true);
+        path.get(path.size() - 1).terminals.put(suggestion.getKey(), suggestion);
+
+        refreshTop(path);
+    }
+
+    private void detach(String form, String key) {
+        List<Node> path = walk(form, false);
+        if (path == null) return;
+
+        path.get(path.size() - 1).terminals.remove(key);
+
+        // Drop the nodes that no longer lead to any suggestion
+        for (int i = path.size() - 1; i > 0; i--) {
+            Node node = path.get(i);
+            if (!node.terminals.isEmpty() || !node.children.isEmpty()) break;
+            path.get(i - 1).children.remove(form.charAt(i - 1));
+        }
+
+        refreshTop(path);
+    }
+
+    // Root first, one node per character of the form
+    private List<Node> walk(String form, boolean create) {
+        List<Node> path = new ArrayList<>(form.length() + 1);
+        Node node = root;
+        path.add(node);
+
+        for (int i = 0; i < form.length(); i++) {
+            Node child = node.children.get(form.charAt(i));
+            if (child == null) {
+                if (!create) return null;
+                child = new Node();
+                node.children.put(form.charAt(i), child);
+            }
+            node = child;
+            path.add(node);
+        }
+        return path;
+    }
+
+    // Recompute the top list bottom-up, only the nodes of the changed path can be affected
+    private void refreshTop(List<Node> path) {
+        for (int i = path.size() - 1; i >= 0; i--) {
+            Node node = path.get(i);
+
+            Map<String, Suggestion> candidates = new HashMap<>(node.terminals);
+            node.children.values().forEach(child -> child.top.forEach(s -> candidates.putIfAbsent(s.getKey(), s)));
+
+            node.top = candidates.values().stream()
+                    .sorted(Comparator.comparingLong(Suggestion::getWeight).reversed()
+                            .thenComparing(Suggestion::getText))
+                    .limit(TOP_K)
+                    .toList();
+        }
+    }
+
+    // The full normalized text and the text starting at each following word
+    private static Set<String> indexedForms(String text) {
+        String normalized = TextUtil.normalize(text);
+        Set<String> forms = new LinkedHashSet<>();
+        if (normalized.isEmpty()) return forms;
+
+        forms.add(normalized);
+        for (int i = normalized.indexOf(' '); i >= 0; i = normalized.indexOf(' ', i + 1)) {
+            if (i + 1 < normalized.length()) forms.add(normalized.substring(i + 1));
+        }
+        return forms;
+    }
+
+    private static class Node {
+        private final Map<Character, Node> children = new HashMap<>();
+        private final Map<String, Suggestion> terminals = new HashMap<>();
+        private List<Suggestion> top = List.of();
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.Job.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+// Live copy of an in-memory index. A rebuild fills a new copy aside and publishes it with one assignment,
+// changes applied meanwhile go to the live copy and are replayed on the new one just before the swap.
+// Changes must be plain in-memory updates that can run twice, the rebuild may have read them already.
+public class SwappableIndex<T> {
+
+    private volatile T current;
+
+    // Guarded by "this", null while no rebuild runs
+    private List<Consumer<T>> changesDuringRebuild;
+
+    private final Object rebuildLock = new Object();
+
+    public SwappableIndex(T initial) {
+        this.current = initial;
+    }
+
+    // Null until the first build of an index that starts empty
+    public T get() {
+        return current;
+    }
+
+    public synchronized void apply(Consumer<T> change) {
+        if (current != null) change.accept(current);
+        if (changesDuringRebuild != null) changesDuringRebuild.add(change);
+    }
+
+    // The builder runs without holding the index, only the replay and the swap do
+    public T rebuild(Supplier<T> builder) {
+        synchronized (rebuildLock) {
+            synchronized (this) {
+                changesDuringRebuild = new ArrayList<>();
+            }
+            try {
+                T built = builder.get();
+                synchronized (this) {
+                    changesDuringRebuild.forEach(change -> change.accept(built));
+                    current = built;
+                }
+                return built;
+            } finally {
+                synchronized (this) {
+                    changesDuringRebuild = null;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.Job.security;
+
+import com.example.Job.constant.RoleEnum;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Map;
+
+// The "user" claim of an access token, read once when the request is authenticated
+@Getter
+@AllArgsConstructor
+public class AuthenticatedUser {
+    private long id;
+
+    private String email;
+
+    private String name;
+
+    private RoleEnum role;
+
+    // null when the claim has no user id (not one of our access tokens)
+    public static AuthenticatedUser fromClaim(Object userClaim) {
+        if (!(userClaim instanceof Map<?, ?> claim) || claim.get("id") == null) return null;
+
+        Object role = claim.get("role");
+        RoleEnum roleEnum = null;
+        if (role != null) {
+            try {
+                roleEnum = RoleEnum.valueOf(role.toString());
+            } catch (IllegalArgumentException ignored) {
+                // Unknown role, keep the identity
+            }
+        }
+
+        return new AuthenticatedUser(
+                Long.parseLong(claim.get("id").toString()),
+                claim.get("email") != null ? claim.get("email").toString() : null,
+                claim.get("name") != null ? claim.get("name").toString() : null,
+                roleEnum);
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.Job.security;
+
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
+
+// Runs once per request, right after the resource server verified the token:
+// the claims are read here so the rest of the request never decodes the JWT again
+public class AuthenticatedUserJwtConverter implements Converter<Jwt, AbstractAuthenticationToken> {
+
+    private final JwtGrantedAuthoritiesConverter grantedAuthoritiesConverter;
+
+    public AuthenticatedUserJwtConverter(JwtGrantedAuthoritiesConverter grantedAuthoritiesConverter) {
+        this.grantedAuthoritiesConverter = grantedAuthoritiesConverter;
+    }
+
+    @Override
+    public AbstractAuthenticationToken convert(Jwt jwt) {
+        return new AuthenticatedUserToken(jwt, grantedAuthoritiesConverter.convert(jwt),
+                AuthenticatedUser.fromClaim(jwt.getClaim("user")));
+    }
+}
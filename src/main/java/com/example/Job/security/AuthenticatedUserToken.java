@@ -0,0 +1,24 @@
+package com.example.Job.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import java.util.Collection;
+
+// JwtAuthenticationToken carrying the typed user of the token.
+// The principal is still the Jwt, so code reading the subject or the token value keeps working.
+public class AuthenticatedUserToken extends JwtAuthenticationToken {
+
+    private final AuthenticatedUser user;
+
+    public AuthenticatedUserToken(Jwt jwt, Collection<? extends GrantedAuthority> authorities, AuthenticatedUser user) {
+        super(jwt, authorities, jwt.getSubject());
+        this.user = user;
+    }
+
+    // null when the token has no "user" claim
+    public AuthenticatedUser getUser() {
+        return user;
+    }
+}
@@ -1,6 +1,8 @@
 package com.example.Job.security;
 
+import com.example.Job.config.RedisConfig;
 import com.example.Job.entity.Account;
+import com.example.Job.service.IRedisService;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.AnonymousAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -11,9 +13,9 @@ import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
 import org.springframework.security.oauth2.jwt.*;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
-import java.util.Map;
 import java.util.Optional;
 
 // Util class for JWT actions
@@ -25,6 +27,8 @@ public class JwtUtil {
 
     private final JwtEncoder jwtEncoder;
     private final JwtDecoder jwtDecoder;
+    private final VerifiedJwtCache verifiedJwtCache;
+    private final IRedisService redisService;
 
     @Value("${app.jwt-secret}")
     private String jwtSecret;
@@ -37,9 +41,15 @@ public class JwtUtil {
     private long refreshTokenExpiration;
 
 
-    public JwtUtil(JwtEncoder jwtEncoder, JwtDecoder jwtDecoder) {
+    public JwtUtil(JwtEncoder jwtEncoder, JwtDecoder jwtDecoder, VerifiedJwtCache verifiedJwtCache,
+                   IRedisService redisService) {
         this.jwtEncoder = jwtEncoder;
         this.jwtDecoder = jwtDecoder;
+        this.verifiedJwtCache = verifiedJwtCache;
+        this.redisService = redisService;
+
+        // Tokens revoked on other nodes
+        redisService.subscribe(RedisConfig.TOKEN_REVOKED_CHANNEL, String.class, this::onTokenRevoked);
     }
 
 //    private SecretKey getSecretKey(){
@@ -68,6 +78,35 @@ public class JwtUtil {
         }
     }
 
+    // Reject a token before its expiry (logout, account locked...), on HTTP and STOMP alike.
+    // The deny-list key is checked when a node verifies the token for the first time (restart, evicted entry),
+    // the message drops it from the verified-token cache of nodes that already serve it
+    public void revokeToken(String token){
+        Jwt decodedToken = verifyToken(token);
+        Instant expiresAt = decodedToken.getExpiresAt();
+        String fingerprint = VerifiedJwtCache.fingerprint(token);
+
+        verifiedJwtCache.revokeFingerprint(fingerprint, expiresAt);
+        if (expiresAt == null) return;
+
+        Duration remaining = Duration.between(Instant.now(), expiresAt);
+        if (remaining.isNegative() || remaining.isZero()) return;
+
+        redisService.set(revokedTokenKey(fingerprint), true, remaining);
+        redisService.publish(RedisConfig.TOKEN_REVOKED_CHANNEL, fingerprint + "|" + expiresAt.getEpochSecond());
+    }
+
+    public static String revokedTokenKey(String fingerprint){
+        return RedisConfig.generateKey(Jwt.class, "revoked", fingerprint);
+    }
+
+    // "<fingerprint>|<exp epoch seconds>", this node's own revocations come back too and are applied twice harmlessly
+    private void onTokenRevoked(String message) {
+        int separator = message.lastIndexOf('|');
+        verifiedJwtCache.revokeFingerprint(message.substring(0, separator),
+                Instant.ofEpochSecond(Long.parseLong(message.substring(separator + 1))));
+    }
+
     // Function to extractClaim from JWT token
     public <T> T extractClaim(String token, String claimName){
         try{
@@ -90,31 +129,35 @@ public class JwtUtil {
         return token;
     }
 
+    // The token was verified by the resource server already: read the user built by
+    // AuthenticatedUserJwtConverter instead of decoding the token again
     public String extractUserIdFromToken(){
+        return getCurrentUser()
+                .map(user -> String.valueOf(user.getId()))
+                .orElse(null);
+    }
 
-       String token = getAccessToken();
-
-        try{
-            Map<String, Object> userClaim = extractClaim(token, "user");
+    // Throws like getAccessToken() when the request is not authenticated with a JWT
+    public static Optional<AuthenticatedUser> getCurrentUser(){
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 
-            if(userClaim != null && userClaim.containsKey("id")){
-                return userClaim.get("id").toString();
-            }
-            return null;
+        if(authentication instanceof AuthenticatedUserToken token){
+            return Optional.ofNullable(token.getUser());
+        }
 
-        }catch(RuntimeException e){
-            return null;
+        if(authentication == null || !(authentication.getPrincipal() instanceof Jwt jwt)){
+            throw new RuntimeException("User is not authenticated with JWT Token");
         }
+
+        // Authentication built elsewhere from a verified Jwt: the claims are already decoded
+        return Optional.ofNullable(AuthenticatedUser.fromClaim(jwt.getClaim("user")));
     }
 
+    // Used on STOMP CONNECT: jwtDecoder serves reconnects from the verified-token cache
     public String extractUserIdFromToken(String token){
         try{
-            Map<String, Object> userClaim = extractClaim(token, "user");
-
-            if(userClaim != null && userClaim.containsKey("id")){
-                return userClaim.get("id").toString();
-            }
-            return null;
+            AuthenticatedUser user = AuthenticatedUser.fromClaim(extractClaim(token, "user"));
+            return user != null ? String.valueOf(user.getId()) : null;
 
         }catch(RuntimeException e){
             return null;
@@ -0,0 +1,114 @@
+package com.example.Job.security;
+
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+// Tokens that already passed signature verification, shared by every caller of the JwtDecoder
+// (HTTP resource server and STOMP CONNECT). Access tokens live for days and are sent again on
+// every request and reconnect, so only the first use of a token pays for HMAC + JSON parsing.
+// Entries are keyed by a SHA-256 of the token (the raw token is never kept) and leave at "exp".
+public class VerifiedJwtCache {
+
+    private final int maxSize;
+
+    // Access order: the eldest entry is the least recently used one
+    private final LinkedHashMap<String, Jwt> verified;
+
+    // Revoked token hashes with their "exp": they must fail even when verified again
+    private final Map<String, Instant> revoked = new HashMap<>();
+
+    public VerifiedJwtCache(int maxSize) {
+        this.maxSize = maxSize;
+        this.verified = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Jwt> eldest) {
+                return size() > VerifiedJwtCache.this.maxSize;
+            }
+        };
+    }
+
+    public Jwt getOrVerify(String token, Function<String, Jwt> verifier) {
+        String key = fingerprint(token);
+        Instant now = Instant.now();
+
+        synchronized (this) {
+            if (isRevoked(key, now)) {
+                throw new BadJwtException("Token has been revoked");
+            }
+
+            Jwt cached = verified.get(key);
+            if (cached != null) {
+                if (!isExpired(cached, now)) return cached;
+                verified.remove(key);
+            }
+        }
+
+        // Verify outside the lock, two threads racing on a new token both verify it once
+        Jwt jwt = verifier.apply(token);
+
+        synchronized (this) {
+            // A token without "exp" is never cached, it would stay valid forever
+            if (jwt.getExpiresAt() != null && !isRevoked(key, now)) {
+                verified.put(key, jwt);
+            }
+        }
+        return jwt;
+    }
+
+    // Revocation hook: the token is rejected from now on, until it would have expired anyway
+    public void revoke(String token, Instant expiresAt) {
+        revokeFingerprint(fingerprint(token), expiresAt);
+    }
+
+    // Same, for a revocation made on another node: only the fingerprint travels between nodes
+    public synchronized void revokeFingerprint(String key, Instant expiresAt) {
+        verified.remove(key);
+        revoked.put(key, expiresAt != null ? expiresAt : Instant.MAX);
+
+        Instant now = Instant.now();
+        revoked.values().removeIf(exp -> !exp.isAfter(now));
+    }
+
+    public synchronized void invalidateAll() {
+        verified.clear();
+    }
+
+    public synchronized int size() {
+        return verified.size();
+    }
+
+    private boolean isRevoked(String key, Instant now) {
+        Instant exp = revoked.get(key);
+        if (exp == null) return false;
+
+        if (!exp.isAfter(now)) {
+            revoked.remove(key);
+            return false;
+        }
+        return true;
+    }
+
+    private static boolean isExpired(Jwt jwt, Instant now) {
+        return !jwt.getExpiresAt().isAfter(now);
+    }
+
+    public static String fingerprint(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            // Every JVM ships SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -11,4 +11,6 @@ public interface IAuthService {
 
     ResultObject<UserDto> registerUser(RegisterRequest registerRequest);
 
+    void logout();
+
 }
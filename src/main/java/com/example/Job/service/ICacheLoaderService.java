@@ -0,0 +1,18 @@
+package com.example.Job.service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.function.Supplier;
+
+public interface ICacheLoaderService {
+
+    // Cache-aside read protected against stampedes:
+    // - concurrent misses on one node share a single load
+    // - across nodes a Redis lease lets one node load while the others wait for its value
+    // - a read of a cached key may reload it before it expires, with a probability growing as the
+    //   expiry nears (XFetch), so keys read often are likely, not certain, to be refreshed in time
+    // The loaded value is written to Redis with the given time to live, null values are not cached.
+    <T> T get(String key, Class<T> clazz, Duration ttl, Supplier<T> loader);
+
+    Map<String, Object> getStats();
+}
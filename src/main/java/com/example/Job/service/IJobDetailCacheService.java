@@ -0,0 +1,21 @@
+package com.example.Job.service;
+
+import com.example.Job.models.dtos.JobDetailCompanyResponse;
+import com.example.Job.models.dtos.JobDetailResponse;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+public interface IJobDetailCacheService {
+
+    // Local cache, then Redis, then the loader; the loaded value is written back to both tiers
+    JobDetailResponse getJobDetail(long jobId, Supplier<JobDetailResponse> loader);
+
+    // Shared part of the detail page only, per-user fields (isSaved, appliedAt) must be set on a copy
+    JobDetailCompanyResponse getJobDetailWithCompany(long jobId, Supplier<JobDetailCompanyResponse> loader);
+
+    // Drop the job from Redis and from the local cache of every node, once the transaction commits
+    void evict(long jobId);
+
+    Map<String, Object> getStats();
+}
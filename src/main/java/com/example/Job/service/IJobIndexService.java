@@ -0,0 +1,24 @@
+package com.example.Job.service;
+
+import com.example.Job.constant.JobStatusEnum;
+import com.example.Job.entity.Job;
+import com.example.Job.models.dtos.JobFilter;
+import com.example.Job.search.JobIndexResult;
+
+import java.util.Map;
+
+public interface IJobIndexService {
+
+    // True when the in-memory engine is selected and its index has been built
+    boolean isEnabled();
+
+    JobIndexResult search(JobFilter jobFilter, int currentPage, int pageSize, String sortBy, boolean isAscending);
+
+    void rebuild();
+
+    void onJobCreated(Job job);
+
+    void onJobStatusChanged(long jobId, JobStatusEnum jobStatus);
+
+    Map<String, Object> getStats();
+}
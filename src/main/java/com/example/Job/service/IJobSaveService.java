@@ -3,11 +3,21 @@ package com.example.Job.service;
 import com.example.Job.models.dtos.GetJobResponse;
 import org.springframework.data.domain.Page;
 
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
 public interface IJobSaveService {
     void saveJob(Long jobId);
 
     boolean isJobSaved(Long jobId);
 
+    // Same answer without blocking the caller on Redis, a cache miss loads from DB on the user lookup pool
+    CompletableFuture<Boolean> isJobSavedAsync(Long jobId);
+
+    // Resolve the saved state of a whole page of jobs for the current user at once
+    Map<Long, Boolean> areJobsSaved(Collection<Long> jobIds);
+
     void deleteSavedJob(Long jobId);
 
     Page<GetJobResponse> getAllSavedJobsByUser(int currentPage, int pageSize, String sortBy, boolean isAscending);
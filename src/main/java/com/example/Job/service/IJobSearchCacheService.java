@@ -0,0 +1,38 @@
+package com.example.Job.service;
+
+import com.example.Job.constant.JobStatusEnum;
+import com.example.Job.models.dtos.CacheStats;
+import com.example.Job.models.dtos.GetJobResponse;
+import com.example.Job.models.dtos.JobFacetResponse;
+import com.example.Job.models.dtos.JobFilter;
+import com.example.Job.models.dtos.JobSearchCacheEntry;
+
+import java.util.List;
+
+public interface IJobSearchCacheService {
+
+    // Build the cache key of a search page from a canonical form of the filter
+    String searchKey(JobFilter jobFilter, int currentPage, int pageSize, String sortBy, boolean isAscending);
+
+    // Facets do not depend on page and sort, only on the filter
+    String facetKey(JobFilter jobFilter);
+
+    JobSearchCacheEntry getSearchResult(String key);
+
+    JobFacetResponse getFacets(String key);
+
+    void putFacets(String key, JobFacetResponse facets);
+
+    void putSearchResult(String key, List<GetJobResponse> jobs, long totalElements);
+
+    // Hydrate search rows from the per-job cache, loading the missing ones from DB
+    List<GetJobResponse> getJobResponses(List<Long> jobIds);
+
+    void evictAllSearchResults();
+
+    void onJobCreated(long jobId, JobStatusEnum jobStatus);
+
+    void onJobStatusChanged(long jobId, JobStatusEnum jobStatus);
+
+    List<CacheStats> getStats();
+}
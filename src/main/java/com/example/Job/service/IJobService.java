@@ -2,6 +2,7 @@ package com.example.Job.service;
 
 import com.example.Job.constant.JobStatusEnum;
 import com.example.Job.entity.Job;
+import com.example.Job.models.CursorPage;
 import com.example.Job.models.dtos.*;
 import org.springframework.data.domain.Page;
 
@@ -34,6 +35,13 @@ public interface IJobService {
     Page<GetJobResponse> searchForJobs(int currentPage, int pageSize, String sortBy,
                                           boolean isAscending, JobFilter jobFilter);
 
+    JobFacetResponse getSearchFacets(JobFilter jobFilter);
+
+    List<LatencyStats> getSearchLatencyStats();
+
+    CursorPage<GetJobResponse> searchForJobsByCursor(int pageSize, String sortBy, boolean isAscending,
+                                                     JobFilter jobFilter, String cursor);
+
 
 
     void updateJobStatus(UpdateJobStatusRequest request);
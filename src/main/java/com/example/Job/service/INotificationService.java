@@ -1,10 +1,14 @@
 package com.example.Job.service;
 
 import com.example.Job.entity.Notification;
+import com.example.Job.models.CursorPage;
 import com.example.Job.models.dtos.NotificationRequest;
 import com.example.Job.models.dtos.NotificationResponse;
 
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.LongConsumer;
 
 public interface INotificationService {
 
@@ -14,7 +18,25 @@ public interface INotificationService {
 
     void sendNotificationToMultipleUser(List<String> recipientIDs, NotificationRequest notificationRequest);
 
-    List<NotificationResponse> getAllNotificationsForUser();
+    // Save and push the notification to every follower with an id above afterUserId, in chunks.
+    // onChunk gets the last follower id of each committed chunk, so a retry can resume from there
+    void notifyCompanyFollowers(long companyId, NotificationRequest notificationRequest, long afterUserId, LongConsumer onChunk);
+
+    // Posts of the company within the coalescing window are delivered as one notification by
+    // notifyCompanyFollowers. Completes once the notification holding this post is delivered.
+    CompletableFuture<Void> notifyCompanyFollowersCoalesced(long eventId, long companyId, String companyName, NotificationRequest notificationRequest);
+
+    // Fan-out progress and throughput
+    Map<String, Object> getFanoutStats();
+
+    // Newest first, keyset pages by (createdAt, id), broadcasts of followed companies merged in
+    CursorPage<NotificationResponse> getInbox(int pageSize, String cursor);
+
+    // Served from a Redis counter, recounted from the database only when it is missing
+    long getUnreadCount();
 
     void markNotificationAsRead(long id);
+
+    // Returns the number of notifications marked
+    int markAllNotificationsAsRead();
 }
@@ -0,0 +1,13 @@
+package com.example.Job.service;
+
+import com.example.Job.models.dtos.NotificationRequest;
+
+import java.util.Map;
+
+public interface IOutboxService {
+
+    // Must run inside the transaction of the change: the event is saved, or rolled back, with it
+    void enqueueFollowerNotification(long companyId, String companyName, NotificationRequest notificationRequest);
+
+    Map<String, Object> getStats();
+}
@@ -1,9 +1,19 @@
 package com.example.Job.service;
 
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.core.RedisOperations;
+
 import java.time.Duration;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 public interface IRedisService {
 
@@ -18,13 +28,29 @@ public interface IRedisService {
     // Get an object (deserialize from JSON)
     <T> T get(String key, Class<T> clazz);
 
-    // Delete a key
+    // Get an object and its remaining time to live (GET + PTTL) in one round trip
+    <T> ValueWithExpiry<T> getWithExpiry(String key, Class<T> clazz);
+
+    // Get many objects in one MGET, missing keys are null in the result
+    <T> List<T> multiGet(List<String> keys, Class<T> clazz);
+
+    // Set many objects with the same time to live in one pipelined round trip
+    <T> void multiSet(Map<String, T> values, Duration duration);
+
+    // Run several commands in one pipelined round trip and return their replies in order,
+    // null if Redis is not available. Replies are not readable inside the callback.
+    List<Object> executePipelined(Consumer<RedisOperations<String, Object>> commands);
+
+    // Delete a key, false if it did not exist or Redis is not available
     boolean delete(String key);
 
-    // List all keys matching a pattern
+    // Delete many keys in one DEL
+    long delete(Collection<String> keys);
+
+    // List all keys matching a pattern, with SCAN so Redis is never blocked like with KEYS
     Set<String> listKeys(String pattern);
 
-    // Add to a list
+    // Append to a list
     void addToList(String key, String value);
 
     // Get all elements in a list
@@ -38,12 +64,80 @@ public interface IRedisService {
 
     <T> Boolean isMemberOfSet(String key, T value);
 
+    // Get all members of a sorted set, lowest score first
+    <T> Set<T> getSortedSet(String key, Class<T> clazz);
+
+    // Add many values to a set in one SADD and (re)set its time to live
+    <T> boolean addAllToSet(String key, Collection<T> values, Duration duration);
+
+    // Check many values in one SMISMEMBER, return null if Redis is not available
+    <T> Map<T, Boolean> areMembersOfSet(String key, Collection<T> values);
+
+    // Non-blocking SMISMEMBER, completes with null if Redis is not available
+    <T> CompletableFuture<Map<T, Boolean>> areMembersOfSetAsync(String key, Collection<T> values);
+
     <T> Boolean removeFromSet(String key, T value, boolean isRollback);
 
+    // SET NX PX: take a lease owned by token, return null if Redis is not available
+    Boolean tryLock(String key, String token, Duration lease);
+
+    // Release the lease only if token still owns it
+    void unlock(String key, String token);
+
+    // Counter stored as a number: SET NX with expiry, false if the counter exists already or Redis is not available
+    boolean initCounter(String key, long value, Duration duration);
+
+    // Current counter value, null if it does not exist or Redis is not available
+    Long getCounter(String key);
+
+    // INCRBY only if the counter exists, never below zero; null if it does not exist or Redis is not available.
+    // A missing counter stays missing, so it is rebuilt from the database instead of counting from a partial value.
+    Long incrementCounter(String key, long delta);
+
+    // incrementCounter on many counters in one pipeline
+    void incrementCounters(Collection<String> keys, long delta);
+
     // Set expiration for a key
     void setExpiration(String key, long timeout, TimeUnit unit);
 
     void setExpiration(String key, Duration duration);
-    // Check if a key exists
+    // Check if a key exists, false if Redis is not available
     boolean exists(String key);
+
+    // Publish a message to every subscriber of the channel, on every node
+    <T> void publish(String channel, T message);
+
+    <T> void subscribe(String channel, Class<T> clazz, Consumer<T> handler);
+
+    // XADD with MAXLEN ~ maxLength, so the stream is trimmed to about maxLength records.
+    // Return the record id or null if Redis is not available
+    String addToStream(String stream, Map<String, String> fields, long maxLength);
+
+    // XGROUP CREATE ... MKSTREAM from the start of the stream, nothing if the group exists already
+    void createStreamGroup(String stream, String group);
+
+    // XREADGROUP of new records, waiting up to block for some; null if Redis is not available
+    List<MapRecord<String, Object, Object>> readStreamGroup(String stream, String group, String consumer, int count, Duration block);
+
+    // XACK
+    long acknowledgeStream(String stream, String group, List<String> recordIds);
+
+    // XPENDING: records delivered to a consumer of the group and not acknowledged yet
+    PendingMessages pendingStream(String stream, String group, int count);
+
+    // XCLAIM: take over records idle for at least minIdle
+    List<MapRecord<String, Object, Object>> claimStream(String stream, String group, String consumer, Duration minIdle, List<String> recordIds);
+
+    // Circuit breaker state and local fallback counts
+    Map<String, Object> getStats();
+
+    @Getter
+    @AllArgsConstructor
+    class ValueWithExpiry<T> {
+        // null when the key is missing
+        private T value;
+
+        // -1 when unknown: no expiry, or served from process memory
+        private long remainingMillis;
+    }
 }
@@ -0,0 +1,19 @@
+package com.example.Job.service;
+
+import com.example.Job.constant.JobStatusEnum;
+import com.example.Job.entity.Job;
+
+import java.util.List;
+
+public interface IRelatedJobService {
+
+    // Precomputed related ACTIVE jobs, most similar first; null when the job is not indexed,
+    // empty when it has no similar job
+    List<Long> getRelatedJobIds(long jobId, int limit);
+
+    void rebuild();
+
+    void onJobCreated(Job job);
+
+    void onJobStatusChanged(long jobId, JobStatusEnum jobStatus);
+}
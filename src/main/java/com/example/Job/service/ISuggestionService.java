@@ -0,0 +1,19 @@
+package com.example.Job.service;
+
+import com.example.Job.constant.JobStatusEnum;
+import com.example.Job.entity.Job;
+import com.example.Job.models.dtos.SuggestionResponse;
+
+import java.util.List;
+
+public interface ISuggestionService {
+
+    // Typeahead over ACTIVE job titles and the companies that post them, no DB access
+    List<SuggestionResponse> suggest(String query, int limit);
+
+    void rebuild();
+
+    void onJobCreated(Job job);
+
+    void onJobStatusChanged(long jobId, JobStatusEnum jobStatus);
+}
@@ -6,6 +6,7 @@ import com.example.Job.exception.ResourceNotFoundException;
 import com.example.Job.models.dtos.AccountDto;
 import com.example.Job.repository.AccountRepository;
 import com.example.Job.service.IAccountService;
+import com.example.Job.service.ICacheLoaderService;
 import com.example.Job.service.IRedisService;
 import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Service;
@@ -20,28 +21,23 @@ public class AccountServiceImpl implements IAccountService {
     private final AccountRepository accountRepository;
     private final ModelMapper modelMapper;
     private final IRedisService redisService;
+    private final ICacheLoaderService cacheLoaderService;
 
-    public AccountServiceImpl(AccountRepository accountRepository, ModelMapper modelMapper, IRedisService redisService) {
+    public AccountServiceImpl(AccountRepository accountRepository, ModelMapper modelMapper, IRedisService redisService, ICacheLoaderService cacheLoaderService) {
         this.accountRepository = accountRepository;
         this.modelMapper = modelMapper;
         this.redisService = redisService;
+        this.cacheLoaderService = cacheLoaderService;
     }
 
     @Override
     public Account getAccountByEmail(String email) {
 
         String key = RedisConfig.generateKey(Account.class, "email", email);
-        Account cachedAccount = redisService.get(key, Account.class);
-        if( cachedAccount != null){
-            return cachedAccount;
-        }
 
-        Account account = accountRepository.findByEmail(email)
-                .orElse(null);
-
-        redisService.set(key, account, Duration.ofHours(24));
-
-        return account;
+        // An unknown email is not cached
+        return cacheLoaderService.get(key, Account.class, Duration.ofHours(24),
+                () -> accountRepository.findByEmail(email).orElse(null));
     }
 
     @Override
@@ -61,6 +61,13 @@ public class AuthServiceImpl implements IAuthService {
 
     }
 
+    // The access token stays valid until its "exp" otherwise, on every node
+    @Override
+    public void logout() {
+        jwtUtil.revokeToken(JwtUtil.getAccessToken());
+        SecurityContextHolder.clearContext();
+    }
+
     @Override
     @Transactional(rollbackFor = Exception.class)
     public ResultObject<UserDto> registerUser(RegisterRequest registerRequest) {
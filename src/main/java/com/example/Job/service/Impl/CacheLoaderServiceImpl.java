@@ -0,0 +1,161 @@
+package com.example.Job.service.Impl;
+
+import com.example.Job.service.ICacheLoaderService;
+import com.example.Job.service.IRedisService;
+import com.example.Job.utils.CacheCounter;
+import com.example.Job.utils.SingleFlight;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+@Service
+public class CacheLoaderServiceImpl implements ICacheLoaderService {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheLoaderServiceImpl.class);
+
+    // The lease outlives a normal load; if the holder dies, the key is free again after it
+    private static final Duration LEASE = Duration.ofSeconds(5);
+    // How long a node without the lease waits for the value of the node holding it
+    private static final long LEASE_WAIT_MILLIS = 50;
+    private static final int LEASE_WAIT_ATTEMPTS = 20;
+
+    // XFetch, drawn on each read of a cached key through get(): reload when
+    // -delta * beta * ln(random) >= remaining ttl, delta being the load time. The reload goes through
+    // the SingleFlight path, one caller per key. Keys nobody reads are not refreshed, and a read that
+    // draws no refresh serves the cached value even close to its expiry.
+    // beta > 1 makes an early refresh more likely, so does a slow load.
+    @Value("${app.cache.early-refresh-beta:1.0}")
+    private double earlyRefreshBeta;
+
+    // false: coalesce loads on this node only
+    @Value("${app.cache.distributed-lock:true}")
+    private boolean distributedLock;
+
+    private final IRedisService redisService;
+
+    private final SingleFlight singleFlight = new SingleFlight();
+
+    // Last load time per entity (key prefix), the delta of XFetch
+    private final Map<String, Long> loadMillis = new ConcurrentHashMap<>();
+
+    private final CacheCounter counter = new CacheCounter("cacheAside");
+    private final LongAdder earlyRefreshes = new LongAdder();
+    private final LongAdder leaseWaits = new LongAdder();
+
+    public CacheLoaderServiceImpl(IRedisService redisService) {
+        this.redisService = redisService;
+    }
+
+    @Override
+    public <T> T get(String key, Class<T> clazz, Duration ttl, Supplier<T> loader) {
+        // Value and remaining time to live in one round trip
+        IRedisService.ValueWithExpiry<T> entry = redisService.getWithExpiry(key, clazz);
+        T cached = entry.getValue();
+        long remainingMillis = entry.getRemainingMillis();
+
+        if (cached == null) {
+            counter.miss();
+            return singleFlight.execute(key, () -> load(key, clazz, ttl, loader, null));
+        }
+
+        counter.hit();
+        if (!shouldRefreshEarly(key, remainingMillis)) {
+            return cached;
+        }
+
+        // Early refresh: only the first caller reloads, the others keep serving the cached value
+        earlyRefreshes.increment();
+        T stale = cached;
+        return singleFlight.execute(key, () -> load(key, clazz, ttl, loader, stale));
+    }
+
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("cache", counter.snapshot());
+        stats.put("earlyRefreshes", earlyRefreshes.sum());
+        stats.put("leaseWaits", leaseWaits.sum());
+        stats.put("inFlight", singleFlight.inFlight());
+        stats.put("loadMillis", Map.copyOf(loadMillis));
+        return stats;
+    }
+
+    // stale: the value still in Redis when this is an early refresh, null on a miss
+    private <T> T load(String key, Class<T> clazz, Duration ttl, Supplier<T> loader, T stale) {
+        String leaseKey = key + ":lease";
+        String token = UUID.randomUUID().toString();
+
+        // null: Redis is not available, load without the lease rather than fail
+        Boolean leased = distributedLock ? redisService.tryLock(leaseKey, token, LEASE) : Boolean.TRUE;
+
+        if (Boolean.FALSE.equals(leased)) {
+            // Another node is loading this key
+            if (stale != null) return stale;
+
+            T loaded = waitForLeaseHolder(key, clazz);
+            if (loaded != null) return loaded;
+
+            log.debug("Lease holder of {} did not write the value in time, loading it", key);
+        }
+
+        try {
+            long start = System.nanoTime();
+            T value = loader.get();
+            loadMillis.put(entityOf(key), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+            if (value != null) {
+                redisService.set(key, value, ttl);
+            }
+            return value;
+        } finally {
+            if (Boolean.TRUE.equals(leased) && distributedLock) {
+                redisService.unlock(leaseKey, token);
+            }
+        }
+    }
+
+    private <T> T waitForLeaseHolder(String key, Class<T> clazz) {
+        leaseWaits.increment();
+
+        for (int attempt = 0; attempt < LEASE_WAIT_ATTEMPTS; attempt++) {
+            try {
+                Thread.sleep(LEASE_WAIT_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+
+            T value = redisService.get(key, clazz);
+            if (value != null) return value;
+        }
+        return null;
+    }
+
+    private boolean shouldRefreshEarly(String key, long remainingMillis) {
+        // -1: no expiry, -2: expired meanwhile
+        if (remainingMillis < 0) return false;
+
+        Long delta = loadMillis.get(entityOf(key));
+        if (delta == null || delta == 0) return false;
+
+        double random = ThreadLocalRandom.current().nextDouble();
+        return -delta * earlyRefreshBeta * Math.log(random) >= remainingMillis;
+    }
+
+    // "companydetailresponse:id:42" -> "companydetailresponse"
+    private static String entityOf(String key) {
+        int separator = key.indexOf(':');
+        return separator > 0 ? key.substring(0, separator) : key;
+    }
+}
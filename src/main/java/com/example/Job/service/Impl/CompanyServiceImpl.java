@@ -8,16 +8,17 @@ import com.example.Job.entity.CompanyFollow;
 import com.example.Job.entity.Id.CompanyFollowId;
 import com.example.Job.entity.User;
 import com.example.Job.exception.ResourceNotFoundException;
+import com.example.Job.mapper.CompanyMapper;
 import com.example.Job.models.dtos.CompanyRegister;
 import com.example.Job.models.dtos.CompanyDetailResponse;
 import com.example.Job.repository.AccountRepository;
 import com.example.Job.repository.CompanyRepository;
 import com.example.Job.security.JwtUtil;
 import com.example.Job.service.IAccountService;
+import com.example.Job.service.ICacheLoaderService;
 import com.example.Job.service.ICompanyService;
 import com.example.Job.service.IRedisService;
 import jakarta.transaction.Transactional;
-import org.modelmapper.ModelMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -32,19 +33,21 @@ public class CompanyServiceImpl implements ICompanyService {
     private final CompanyRepository companyRepository;
     private final AccountRepository accountRepository;
     private final PasswordEncoder passwordEncoder;
-    private final ModelMapper modelMapper;
+    private final CompanyMapper companyMapper;
     private final IRedisService redisService;
     private final JwtUtil jwtUtil;
     private final IAccountService accountService;
+    private final ICacheLoaderService cacheLoaderService;
 
-    public CompanyServiceImpl(CompanyRepository companyRepository, AccountRepository accountRepository, PasswordEncoder passwordEncoder, ModelMapper modelMapper, IRedisService redisService, JwtUtil jwtUtil, IAccountService accountService) {
+    public CompanyServiceImpl(CompanyRepository companyRepository, AccountRepository accountRepository, PasswordEncoder passwordEncoder, CompanyMapper companyMapper, IRedisService redisService, JwtUtil jwtUtil, IAccountService accountService, ICacheLoaderService cacheLoaderService) {
         this.companyRepository = companyRepository;
         this.accountRepository = accountRepository;
         this.passwordEncoder = passwordEncoder;
-        this.modelMapper = modelMapper;
+        this.companyMapper = companyMapper;
         this.redisService = redisService;
         this.jwtUtil = jwtUtil;
         this.accountService = accountService;
+        this.cacheLoaderService = cacheLoaderService;
     }
 
     @Override
@@ -85,23 +88,15 @@ public class CompanyServiceImpl implements ICompanyService {
     public CompanyDetailResponse getCompanyDetailById(Long companyId) {
 
         String key = RedisConfig.generateKey(CompanyDetailResponse.class, "id", companyId);
-        CompanyDetailResponse cacheCompany = redisService.get(key, CompanyDetailResponse.class);
 
-        // If find in cache, return the cached Data
-        if(cacheCompany != null){
-            return cacheCompany;
-        }
-
-        // If not found in cache, get from DB and cache the data
-        Company company = getCompanyById(companyId);
-
-        CompanyDetailResponse companyDetailResponse = modelMapper.map(company, CompanyDetailResponse.class);
-        companyDetailResponse.setNumOfFollowers( company.getCompanyFollowers().size() );
-
-        redisService.set(key, companyDetailResponse, Duration.ofHours(24));
-
-        return companyDetailResponse;
+        // If not found in cache, get from DB and cache the data, one load per key at a time
+        return cacheLoaderService.get(key, CompanyDetailResponse.class, Duration.ofHours(24), () -> {
+            Company company = getCompanyById(companyId);
 
+            CompanyDetailResponse companyDetailResponse = companyMapper.toCompanyDetailResponse(company);
+            companyDetailResponse.setNumOfFollowers( company.getCompanyFollowers().size() );
+            return companyDetailResponse;
+        });
 
     }
 
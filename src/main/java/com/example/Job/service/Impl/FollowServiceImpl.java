@@ -9,6 +9,8 @@ import com.example.Job.security.JwtUtil;
 import com.example.Job.service.IFollowService;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
+
 @Service
 public class FollowServiceImpl implements IFollowService {
 
@@ -31,7 +33,7 @@ public class FollowServiceImpl implements IFollowService {
         Company company = new Company();
         company.setId(companyId);
 
-        CompanyFollow companyFollow = new CompanyFollow(companyFollowId, user,company);
+        CompanyFollow companyFollow = new CompanyFollow(companyFollowId, user, company, Instant.now());
 
         try{
             companyFollowRepository.save(companyFollow);
@@ -0,0 +1,172 @@
+package com.example.Job.service.Impl;
+
+import com.example.Job.config.RedisConfig;
+import com.example.Job.models.dtos.JobDetailCompanyResponse;
+import com.example.Job.models.dtos.JobDetailResponse;
+import com.example.Job.service.IJobDetailCacheService;
+import com.example.Job.service.IRedisService;
+import com.example.Job.utils.CacheCounter;
+import com.example.Job.utils.LatencyRecorder;
+import com.example.Job.utils.LocalCache;
+import com.example.Job.utils.TransactionUtil;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+@Service
+public class JobDetailCacheServiceImpl implements IJobDetailCacheService {
+
+    private static final Logger log = LoggerFactory.getLogger(JobDetailCacheServiceImpl.class);
+
+    // L1 is short-lived: pub/sub invalidation is best effort, the TTL bounds staleness if a message is lost
+    private static final int LOCAL_MAX_SIZE = 2000;
+    private static final Duration LOCAL_TTL = Duration.ofMinutes(1);
+    private static final Duration REDIS_TTL = Duration.ofHours(1);
+
+    // A load that read the row before the commit can write the old detail back after the first delete.
+    // A second delete and broadcast once such loads are done removes it from Redis and every L1,
+    // instead of serving it for REDIS_TTL.
+    @Value("${app.cache.job-detail.second-evict-delay-ms:2000}")
+    private long secondEvictDelayMillis;
+
+    private final IRedisService redisService;
+
+    private final ScheduledExecutorService evictScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "JobDetailEvict");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final LocalCache<Long, JobDetailResponse> localDetails = new LocalCache<>(LOCAL_MAX_SIZE, LOCAL_TTL);
+    private final LocalCache<Long, JobDetailCompanyResponse> localCompanyDetails = new LocalCache<>(LOCAL_MAX_SIZE, LOCAL_TTL);
+
+    private final CacheCounter localCounter = new CacheCounter("jobDetailLocal");
+    private final CacheCounter redisCounter = new CacheCounter("jobDetailRedis");
+
+    private final LatencyRecorder localLatency = new LatencyRecorder("jobDetailLocal");
+    private final LatencyRecorder redisLatency = new LatencyRecorder("jobDetailRedis");
+    private final LatencyRecorder loadLatency = new LatencyRecorder("jobDetailDb");
+
+    public JobDetailCacheServiceImpl(IRedisService redisService) {
+        this.redisService = redisService;
+
+        redisService.subscribe(RedisConfig.JOB_CHANGED_CHANNEL, String.class, this::onInvalidation);
+    }
+
+    @Override
+    public JobDetailResponse getJobDetail(long jobId, Supplier<JobDetailResponse> loader) {
+        return get(jobId, localDetails, RedisConfig.generateKey(JobDetailResponse.class, "id", jobId),
+                JobDetailResponse.class, loader);
+    }
+
+    @Override
+    public JobDetailCompanyResponse getJobDetailWithCompany(long jobId, Supplier<JobDetailCompanyResponse> loader) {
+        return get(jobId, localCompanyDetails, RedisConfig.generateKey(JobDetailCompanyResponse.class, "id", jobId),
+                JobDetailCompanyResponse.class, loader);
+    }
+
+    @Override
+    public void evict(long jobId) {
+        TransactionUtil.afterCommit(() -> {
+            try {
+                deleteShared(jobId);
+
+                // This node receives its own message too, drop it here already for read-your-writes
+                invalidateLocal(jobId);
+                redisService.publish(RedisConfig.JOB_CHANGED_CHANNEL, String.valueOf(jobId));
+            } catch (Exception e) {
+                // Entries still expire by TTL, a failed eviction must not fail the request
+                log.warn("Failed to evict job detail cache for job: {}, error: {}", jobId, e.getMessage());
+            }
+
+            evictScheduler.schedule(() -> {
+                try {
+                    deleteShared(jobId);
+                    invalidateLocal(jobId);
+                    // Other nodes may have put the old detail back in their L1 from that stale entry too.
+                    // Their index refresh runs again as well, it reads the committed row so it is idempotent.
+                    redisService.publish(RedisConfig.JOB_CHANGED_CHANNEL, String.valueOf(jobId));
+                } catch (Exception e) {
+                    log.warn("Failed to evict job detail cache for job: {} again, error: {}", jobId, e.getMessage());
+                }
+            }, secondEvictDelayMillis, TimeUnit.MILLISECONDS);
+        });
+    }
+
+    @PreDestroy
+    public void stopEvictions() {
+        evictScheduler.shutdownNow();
+    }
+
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("tiers", List.of(localCounter.snapshot(), redisCounter.snapshot()));
+        stats.put("latency", List.of(localLatency.snapshot(), redisLatency.snapshot(), loadLatency.snapshot()));
+        stats.put("localSize", localDetails.size() + localCompanyDetails.size());
+        return stats;
+    }
+
+    private <T> T get(long jobId, LocalCache<Long, T> localCache, String redisKey, Class<T> clazz, Supplier<T> loader) {
+        long start = System.nanoTime();
+        T value = localCache.get(jobId);
+        localLatency.record(start);
+
+        if (value != null) {
+            localCounter.hit();
+            return value;
+        }
+        localCounter.miss();
+
+        start = System.nanoTime();
+        value = redisService.get(redisKey, clazz);
+        redisLatency.record(start);
+
+        if (value != null) {
+            redisCounter.hit();
+            localCache.put(jobId, value);
+            return value;
+        }
+        redisCounter.miss();
+
+        start = System.nanoTime();
+        value = loader.get();
+        loadLatency.record(start);
+
+        if (value != null) {
+            redisService.set(redisKey, value, REDIS_TTL);
+            localCache.put(jobId, value);
+        }
+        return value;
+    }
+
+    private void onInvalidation(String message) {
+        try {
+            invalidateLocal(Long.parseLong(message));
+        } catch (NumberFormatException e) {
+            log.warn("Ignored invalid job detail invalidation message: {}", message);
+        }
+    }
+
+    private void deleteShared(long jobId) {
+        redisService.delete(List.of(
+                RedisConfig.generateKey(JobDetailResponse.class, "id", jobId),
+                RedisConfig.generateKey(JobDetailCompanyResponse.class, "id", jobId)));
+    }
+
+    private void invalidateLocal(long jobId) {
+        localDetails.invalidate(jobId);
+        localCompanyDetails.invalidate(jobId);
+    }
+}
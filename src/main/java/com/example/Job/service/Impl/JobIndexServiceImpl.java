@@ -0,0 +1,148 @@
+package com.example.Job.service.Impl;
+
+import com.example.Job.config.RedisConfig;
+import com.example.Job.constant.JobStatusEnum;
+import com.example.Job.entity.Job;
+import com.example.Job.models.dtos.JobFilter;
+import com.example.Job.repository.JobRepository;
+import com.example.Job.search.InMemoryJobIndex;
+import com.example.Job.search.JobIndexResult;
+import com.example.Job.search.SwappableIndex;
+import com.example.Job.service.IJobIndexService;
+import com.example.Job.service.IRedisService;
+import com.example.Job.utils.TransactionUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class JobIndexServiceImpl implements IJobIndexService {
+
+    private static final Logger log = LoggerFactory.getLogger(JobIndexServiceImpl.class);
+
+    private static final int REBUILD_BATCH_SIZE = 500;
+
+    private final JobRepository jobRepository;
+
+    // "db" keeps the postgres search, "memory" switches searchForJobs to the in-process index
+    private final String engine;
+
+    // Replaced as a whole on rebuild, so searches never see a half built index.
+    // Null until the startup build, changes committed during it are replayed on the new index.
+    private final SwappableIndex<InMemoryJobIndex> index = new SwappableIndex<>(null);
+
+    public JobIndexServiceImpl(JobRepository jobRepository, IRedisService redisService, @Value("${app.search.engine:db}") String engine) {
+        this.jobRepository = jobRepository;
+        this.engine = engine;
+
+        // Jobs changed on other nodes
+        if (isMemoryEngine()) redisService.subscribe(RedisConfig.JOB_CHANGED_CHANNEL, String.class, this::onJobChanged);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        if (!isMemoryEngine()) return;
+
+        rebuild();
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return isMemoryEngine() && index.get() != null;
+    }
+
+    @Override
+    public JobIndexResult search(JobFilter jobFilter, int currentPage, int pageSize, String sortBy, boolean isAscending) {
+        return index.get().search(jobFilter, sortBy, isAscending, currentPage * pageSize, pageSize);
+    }
+
+    @Override
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+
+        InMemoryJobIndex newIndex = index.rebuild(() -> {
+            InMemoryJobIndex built = new InMemoryJobIndex();
+
+            Page<Job> batch;
+            int page = 0;
+            do {
+                batch = jobRepository.findByJobStatus(JobStatusEnum.ACTIVE,
+                        PageRequest.of(page++, REBUILD_BATCH_SIZE, Sort.by("id")));
+                batch.forEach(built::add);
+            } while (batch.hasNext());
+            return built;
+        });
+
+        log.info("Built in-memory job index: {} jobs, {} terms in {} ms",
+                newIndex.size(), newIndex.vocabularySize(), System.currentTimeMillis() - start);
+    }
+
+    @Override
+    public void onJobCreated(Job job) {
+        if (job.getJobStatus() != JobStatusEnum.ACTIVE) return;
+
+        afterCommit(() -> index.apply(currentIndex -> currentIndex.add(job)));
+    }
+
+    @Override
+    public void onJobStatusChanged(long jobId, JobStatusEnum jobStatus) {
+        afterCommit(() -> {
+            if (jobStatus == JobStatusEnum.ACTIVE) {
+                // The status update is a bulk query, read the committed row back
+                jobRepository.findById(jobId).ifPresent(job -> index.apply(currentIndex -> currentIndex.add(job)));
+            } else {
+                index.apply(currentIndex -> currentIndex.remove(jobId));
+            }
+        });
+    }
+
+    // This node's own changes come back too, re-reading the committed row makes that harmless
+    private void onJobChanged(String message) {
+        long jobId = Long.parseLong(message);
+        List<Job> jobs = jobRepository.findAllWithCompanyByIdIn(List.of(jobId));
+        Job activeJob = jobs.stream().filter(job -> job.getJobStatus() == JobStatusEnum.ACTIVE).findFirst().orElse(null);
+
+        index.apply(currentIndex -> {
+            if (activeJob != null) currentIndex.add(activeJob);
+            else currentIndex.remove(jobId);
+        });
+    }
+
+    @Override
+    public Map<String, Object> getStats() {
+        InMemoryJobIndex currentIndex = index.get();
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("engine", engine);
+        stats.put("indexedJobs", currentIndex != null ? currentIndex.size() : 0);
+        stats.put("terms", currentIndex != null ? currentIndex.vocabularySize() : 0);
+        return stats;
+    }
+
+    private boolean isMemoryEngine() {
+        return "memory".equalsIgnoreCase(engine);
+    }
+
+    private void afterCommit(Runnable update) {
+        if (!isMemoryEngine()) return;
+
+        TransactionUtil.afterCommit(() -> {
+            try {
+                update.run();
+            } catch (Exception e) {
+                // The index is rebuilt on restart, a failed update must not fail the request
+                log.warn("Failed to update in-memory job index, error: {}", e.getMessage());
+            }
+        });
+    }
+}
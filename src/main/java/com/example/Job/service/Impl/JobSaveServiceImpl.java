@@ -11,29 +11,38 @@ import com.example.Job.security.JwtUtil;
 import com.example.Job.service.IJobSaveService;
 import com.example.Job.service.IRedisService;
 import jakarta.transaction.Transactional;
-import org.modelmapper.ModelMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
 @Service
 public class JobSaveServiceImpl implements IJobSaveService {
 
     private static final Logger log = LoggerFactory.getLogger(JobSaveServiceImpl.class);
-    private final ModelMapper modelMapper;
+
+    // Placeholder member telling that the saved job set of a user was fully loaded from DB,
+    // so a missing member really means "not saved". Job ids start from 1, so 0 never collides.
+    private static final Long LOADED_MARKER = 0L;
     private final JobSaveRepository jobSaveRepository;
     private final JwtUtil jwtUtil;
     private final IRedisService redisService;
+    private final Executor userLookupExecutor;
 
 
-    public JobSaveServiceImpl(ModelMapper modelMapper, JobSaveRepository jobSaveRepository, JwtUtil jwtUtil, IRedisService redisService) {
-        this.modelMapper = modelMapper;
+    public JobSaveServiceImpl(JobSaveRepository jobSaveRepository, JwtUtil jwtUtil, IRedisService redisService,
+                              @Qualifier("userLookupExecutor") Executor userLookupExecutor) {
         this.jobSaveRepository = jobSaveRepository;
         this.jwtUtil = jwtUtil;
         this.redisService = redisService;
+        this.userLookupExecutor = userLookupExecutor;
     }
 
     @Override
@@ -67,15 +76,62 @@ public class JobSaveServiceImpl implements IJobSaveService {
 
     @Override
     public boolean isJobSaved(Long jobId) {
+        return areJobsSaved(List.of(jobId)).getOrDefault(jobId, false);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> isJobSavedAsync(Long jobId) {
+        // The user is read here, the continuations may run on a thread without the security context
         String userId = jwtUtil.extractUserIdFromToken();
-        if(userId == null) return false;
+        if(userId == null) return CompletableFuture.completedFuture(false);
 
         String key = RedisConfig.generateKey(JobSave.class, "userId", userId);
-        Boolean isMember = redisService.isMemberOfSet(key, jobId);
 
-        if(isMember != null) return isMember;
+        return redisService.areMembersOfSetAsync(key, List.of(LOADED_MARKER, jobId))
+                .thenCompose(cached -> {
+                    if(cached != null && Boolean.TRUE.equals(cached.get(LOADED_MARKER))){
+                        return CompletableFuture.completedFuture(Boolean.TRUE.equals(cached.get(jobId)));
+                    }
+                    // The reply completes on the Lettuce I/O thread, the DB load of a miss must not block it
+                    return CompletableFuture.supplyAsync(() -> loadSavedJobIds(key, userId).contains(jobId), userLookupExecutor);
+                });
+    }
+
+    @Override
+    public Map<Long, Boolean> areJobsSaved(Collection<Long> jobIds) {
+        if(jobIds == null || jobIds.isEmpty()) return Map.of();
+
+        String userId = jwtUtil.extractUserIdFromToken();
+        if(userId == null) return Map.of();
+
+        String key = RedisConfig.generateKey(JobSave.class, "userId", userId);
+
+        List<Long> members = new ArrayList<>(jobIds.size() + 1);
+        members.add(LOADED_MARKER);
+        members.addAll(jobIds);
+
+        Map<Long, Boolean> cached = redisService.areMembersOfSet(key, members);
+
+        Map<Long, Boolean> result = new HashMap<>();
+        if(cached != null && Boolean.TRUE.equals(cached.get(LOADED_MARKER))){
+            jobIds.forEach(jobId -> result.put(jobId, Boolean.TRUE.equals(cached.get(jobId))));
+            return result;
+        }
+
+        Set<Long> savedJobIds = loadSavedJobIds(key, userId);
+        jobIds.forEach(jobId -> result.put(jobId, savedJobIds.contains(jobId)));
+        return result;
+    }
+
+    // Cache miss: load all saved jobs of the user in one query and warm the cache,
+    // a partial set would make later checks report saved jobs as not saved
+    private Set<Long> loadSavedJobIds(String key, String userId) {
+        Set<Long> savedJobIds = new HashSet<>(jobSaveRepository.findSavedJobIdsByUserId(Long.valueOf(userId)));
 
-        return jobSaveRepository.existsById(new JobSaveId(Long.parseLong( userId), jobId));
+        List<Long> warmMembers = new ArrayList<>(savedJobIds);
+        warmMembers.add(LOADED_MARKER);
+        redisService.addAllToSet(key, warmMembers, RedisConfig.defaultTTL);
+        return savedJobIds;
     }
 
     @Override
@@ -108,24 +164,7 @@ public class JobSaveServiceImpl implements IJobSaveService {
 
         PageRequest pageRequest = PageRequest.of(currentPage, pageSize, sort);
 
-        Page<Job> savedJobs = jobSaveRepository.findSavedJobByUserId(Long.valueOf(userId), pageRequest);
-
-        Page<GetJobResponse> jobResPage = savedJobs.map(job -> {
-            return GetJobResponse.builder()
-                    .id(job.getId())
-                    .salaryFrom(job.getSalaryFrom())
-                    .salaryTo(job.getSalaryTo())
-                    .city(job.getCity())
-                    .name(job.getName())
-                    .yearOfExperience(job.getYearOfExperience())
-                    .companyName(job.getCompany().getName())
-                    .companyId(job.getCompany().getId())
-                    .companyImg(job.getCompany().getImgUrl())
-                    .createdAt(job.getCreatedAt())
-                    .updatedAt(job.getUpdatedAt())
-                    .build();
-        });
-        return jobResPage;
+        return jobSaveRepository.findSavedJobResponsesByUserId(Long.valueOf(userId), pageRequest);
     }
 
 }
@@ -0,0 +1,266 @@
+package com.example.Job.service.Impl;
+
+import com.example.Job.config.RedisConfig;
+import com.example.Job.constant.JobStatusEnum;
+import com.example.Job.models.dtos.CacheStats;
+import com.example.Job.models.dtos.GetJobResponse;
+import com.example.Job.models.dtos.JobFacetResponse;
+import com.example.Job.models.dtos.JobFilter;
+import com.example.Job.models.dtos.JobSearchCacheEntry;
+import com.example.Job.repository.JobRepository;
+import com.example.Job.service.IJobSearchCacheService;
+import com.example.Job.service.IRedisService;
+import com.example.Job.utils.CacheCounter;
+import com.example.Job.utils.TextUtil;
+import com.example.Job.utils.TransactionUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class JobSearchCacheServiceImpl implements IJobSearchCacheService {
+
+    private static final Logger log = LoggerFactory.getLogger(JobSearchCacheServiceImpl.class);
+
+    // Search pages are short-lived, job rows can stay longer since they are evicted on change
+    private static final Duration SEARCH_RESULT_TTL = Duration.ofMinutes(10);
+    private static final Duration JOB_ROW_TTL = Duration.ofHours(1);
+
+    // Last part of a search key: the keys of every page of one query share what comes before it
+    private static final String PAGE_PART = "|page=";
+
+    // Index sets are sorted sets scored by the expiry of each member: every write prunes the members
+    // that expired by themselves, and the set expires with its last member, so none grows without bound.
+    // Every cached search key, used to drop all search pages at once
+    private static final String ALL_SEARCH_KEYS = RedisConfig.generateKey(JobFilter.class, "keysByExpiry", "all");
+    // Every cached facet key: any job status change can move facet counts
+    private static final String ALL_FACET_KEYS = RedisConfig.generateKey(JobFilter.class, "keysByExpiry", "facets");
+
+    private final IRedisService redisService;
+    private final JobRepository jobRepository;
+
+    private final CacheCounter searchCounter = new CacheCounter("jobSearchResult");
+    private final CacheCounter jobRowCounter = new CacheCounter("jobSearchRow");
+    private final CacheCounter facetCounter = new CacheCounter("jobSearchFacet");
+
+    public JobSearchCacheServiceImpl(IRedisService redisService, JobRepository jobRepository) {
+        this.redisService = redisService;
+        this.jobRepository = jobRepository;
+    }
+
+    @Override
+    public String searchKey(JobFilter jobFilter, int currentPage, int pageSize, String sortBy, boolean isAscending) {
+        boolean hasSort = sortBy != null && !sortBy.isEmpty();
+
+        String canonical = String.join("|",
+                canonicalFilter(jobFilter),
+                "size=" + pageSize,
+                "sort=" + (hasSort ? sortBy + (isAscending ? ",asc" : ",desc") : ""));
+
+        return RedisConfig.generateKey(JobFilter.class, "search", canonical) + PAGE_PART + currentPage;
+    }
+
+    @Override
+    public String facetKey(JobFilter jobFilter) {
+        return RedisConfig.generateKey(JobFilter.class, "facets", canonicalFilter(jobFilter));
+    }
+
+    @Override
+    public JobSearchCacheEntry getSearchResult(String key) {
+        JobSearchCacheEntry entry = redisService.get(key, JobSearchCacheEntry.class);
+
+        if(entry != null) searchCounter.hit();
+        else searchCounter.miss();
+
+        return entry;
+    }
+
+    @Override
+    public JobFacetResponse getFacets(String key) {
+        JobFacetResponse facets = redisService.get(key, JobFacetResponse.class);
+
+        if(facets != null) facetCounter.hit();
+        else facetCounter.miss();
+
+        return facets;
+    }
+
+    @Override
+    public void putFacets(String key, JobFacetResponse facets) {
+        redisService.executePipelined(operations -> {
+            operations.opsForValue().set(key, facets, SEARCH_RESULT_TTL);
+            addToIndex(operations, ALL_FACET_KEYS, key);
+        });
+    }
+
+    @Override
+    public void putSearchResult(String key, List<GetJobResponse> jobs, long totalElements) {
+        List<Long> jobIds = jobs.stream().map(GetJobResponse::getId).toList();
+        String queryIndexKey = queryIndexKey(key);
+
+        // One round trip for the page, its index entries and its rows, instead of ~3 per job
+        redisService.executePipelined(operations -> {
+            operations.opsForValue().set(key, new JobSearchCacheEntry(jobIds, totalElements), SEARCH_RESULT_TTL);
+            addToIndex(operations, ALL_SEARCH_KEYS, key);
+            addToIndex(operations, queryIndexKey, key);
+
+            // Reverse index job -> queries, so a job leaving ACTIVE only evicts the queries that returned it
+            for (Long jobId : jobIds) {
+                addToIndex(operations, jobIndexKey(jobId), queryIndexKey);
+            }
+
+            jobs.forEach(job -> operations.opsForValue().set(jobRowKey(job.getId()), job, JOB_ROW_TTL));
+        });
+    }
+
+    @Override
+    public List<GetJobResponse> getJobResponses(List<Long> jobIds) {
+        if(jobIds.isEmpty()) return new ArrayList<>();
+
+        List<String> keys = jobIds.stream().map(this::jobRowKey).toList();
+        List<GetJobResponse> cachedRows = redisService.multiGet(keys, GetJobResponse.class);
+
+        Map<Long, GetJobResponse> rows = new HashMap<>();
+        List<Long> missingIds = new ArrayList<>();
+        for (int i = 0; i < jobIds.size(); i++) {
+            GetJobResponse cached = cachedRows != null ? cachedRows.get(i) : null;
+            if(cached != null) rows.put(jobIds.get(i), cached);
+            else missingIds.add(jobIds.get(i));
+        }
+
+        jobRowCounter.hit(rows.size());
+        jobRowCounter.miss(missingIds.size());
+
+        if(!missingIds.isEmpty()){
+            Map<Long, GetJobResponse> loaded = jobRepository.findJobResponsesByIdIn(missingIds).stream()
+                    .collect(Collectors.toMap(GetJobResponse::getId, Function.identity()));
+
+            redisService.multiSet(loaded.values().stream()
+                    .collect(Collectors.toMap(job -> jobRowKey(job.getId()), Function.identity())), JOB_ROW_TTL);
+            rows.putAll(loaded);
+        }
+
+        // Keep the cached order, skip jobs deleted meanwhile
+        return jobIds.stream()
+                .map(rows::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void evictAllSearchResults() {
+        long deleted = evictIndexed(ALL_SEARCH_KEYS) + evictIndexed(ALL_FACET_KEYS);
+        log.debug("Evicted {} cached job search keys", deleted);
+    }
+
+    @Override
+    public void onJobCreated(long jobId, JobStatusEnum jobStatus) {
+        // A job that is not ACTIVE is not visible in search yet
+        if(jobStatus == JobStatusEnum.ACTIVE){
+            afterCommit(this::evictAllSearchResults);
+        }
+    }
+
+    @Override
+    public void onJobStatusChanged(long jobId, JobStatusEnum jobStatus) {
+        afterCommit(() -> {
+            redisService.delete(jobRowKey(jobId));
+
+            if(jobStatus == JobStatusEnum.ACTIVE){
+                // The job may now match any search
+                evictAllSearchResults();
+                return;
+            }
+
+            // The job left search: every page of a query that returned it is stale, not only its own page,
+            // the rows after it shift back by one and the total drops.
+            // Facet counts of any filter it matched have moved too.
+            Set<String> queryIndexKeys = redisService.getSortedSet(jobIndexKey(jobId), String.class);
+            if(queryIndexKeys != null) queryIndexKeys.forEach(this::evictIndexed);
+            redisService.delete(jobIndexKey(jobId));
+            evictIndexed(ALL_FACET_KEYS);
+        });
+    }
+
+    @Override
+    public List<CacheStats> getStats() {
+        return List.of(searchCounter.snapshot(), jobRowCounter.snapshot(), facetCounter.snapshot());
+    }
+
+    private static void addToIndex(RedisOperations<String, Object> operations, String indexKey, String key) {
+        long now = System.currentTimeMillis();
+        operations.opsForZSet().add(indexKey, key, now + SEARCH_RESULT_TTL.toMillis());
+        operations.opsForZSet().removeRangeByScore(indexKey, Double.NEGATIVE_INFINITY, now);
+        operations.expire(indexKey, SEARCH_RESULT_TTL);
+    }
+
+    // Delete every key listed in an index set, then the index set itself
+    private long evictIndexed(String indexKey) {
+        Set<String> keys = redisService.getSortedSet(indexKey, String.class);
+
+        List<String> toDelete = new ArrayList<>();
+        if(keys != null) toDelete.addAll(keys);
+        toDelete.add(indexKey);
+
+        return redisService.delete(toDelete);
+    }
+
+    private static String canonicalFilter(JobFilter jobFilter) {
+        List<String> cities = jobFilter.getCities() == null ? List.of() : jobFilter.getCities().stream()
+                .filter(Objects::nonNull)
+                .map(String::trim)
+                .filter(city -> !city.isEmpty())
+                .distinct()
+                .sorted()
+                .toList();
+
+        return String.join("|",
+                "kw=" + canonicalKeyword(jobFilter.getKeyword()),
+                "cities=" + String.join(",", cities),
+                "industry=" + valueOf(jobFilter.getIndustry()),
+                "type=" + valueOf(jobFilter.getJobType()),
+                "level=" + valueOf(jobFilter.getLevel()),
+                "exp=" + valueOf(jobFilter.getMinExperience()) + "-" + valueOf(jobFilter.getMaxExperience()),
+                "salary=" + valueOf(jobFilter.getMinSalary()) + "-" + valueOf(jobFilter.getMaxSalary()));
+    }
+
+    private String jobRowKey(Long jobId) {
+        return RedisConfig.generateKey(GetJobResponse.class, "id", jobId);
+    }
+
+    private String jobIndexKey(Long jobId) {
+        return RedisConfig.generateKey(JobFilter.class, "keysByExpiryOfJob", jobId);
+    }
+
+    // Pages of one query: same filter, page size and sort
+    private static String queryIndexKey(String searchKey) {
+        return RedisConfig.generateKey(JobFilter.class, "keysByExpiryOfQuery", searchKey.substring(0, searchKey.lastIndexOf(PAGE_PART)));
+    }
+
+    private void afterCommit(Runnable action) {
+        TransactionUtil.afterCommit(() -> {
+            try {
+                action.run();
+            } catch (Exception e) {
+                // Entries still expire by TTL, a failed eviction must not fail the request
+                log.warn("Failed to evict job search cache, error: {}", e.getMessage());
+            }
+        });
+    }
+
+    // "  Java   Dev " and "java dev" share one cache entry. Accents are kept: the fuzzy title match
+    // compares the keyword as typed, so "kế toán" and "ke toan" can match different jobs.
+    private static String canonicalKeyword(String keyword) {
+        return TextUtil.normalizeKeepingAccents(keyword);
+    }
+
+    private static String valueOf(Object value) {
+        return value == null ? "" : value.toString();
+    }
+}
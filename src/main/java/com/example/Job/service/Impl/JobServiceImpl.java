@@ -1,22 +1,36 @@
 package com.example.Job.service.Impl;
 
+import com.example.Job.constant.IndustryEnum;
 import com.example.Job.constant.JobStatusEnum;
+import com.example.Job.constant.JobTypeEnum;
+import com.example.Job.constant.LevelEnum;
 import com.example.Job.entity.*;
 import com.example.Job.exception.ResourceNotFoundException;
+import com.example.Job.mapper.JobMapper;
+import com.example.Job.models.CursorPage;
 import com.example.Job.models.dtos.*;
 import com.example.Job.repository.CompanyRepository;
+import com.example.Job.repository.JobFacetRepository;
 import com.example.Job.repository.JobRepository;
+import com.example.Job.repository.JobSeekRepository;
+import com.example.Job.search.JobIndexResult;
 import com.example.Job.security.JwtUtil;
 import com.example.Job.service.IApplyService;
+import com.example.Job.service.IJobDetailCacheService;
+import com.example.Job.service.IJobIndexService;
 import com.example.Job.service.IJobSaveService;
+import com.example.Job.service.IJobSearchCacheService;
 import com.example.Job.service.IJobService;
-import com.example.Job.service.INotificationService;
+import com.example.Job.service.IOutboxService;
+import com.example.Job.service.IRelatedJobService;
+import com.example.Job.service.ISuggestionService;
 import com.example.Job.specifications.JobOrdering;
 import com.example.Job.specifications.JobSpecifications;
+import com.example.Job.utils.LatencyRecorder;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.transaction.Transactional;
-import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
@@ -24,29 +38,49 @@ import org.springframework.stereotype.Service;
 
 import java.time.Instant;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.stream.Collectors;
 
 @Service
 public class JobServiceImpl implements IJobService {
 
     private final JobRepository jobRepository;
-    private final ModelMapper modelMapper;
+    private final JobMapper jobMapper;
     private final CompanyRepository companyRepository;
     private final IJobSaveService jobSaveService;
     private final JwtUtil jwtUtil;
     private final IApplyService applyService;
-    private final INotificationService notificationService;
-
-    public JobServiceImpl(JobRepository jobRepository, ModelMapper modelMapper, CompanyRepository companyRepository, IJobSaveService jobSaveService, JwtUtil jwtUtil, IApplyService applyService, INotificationService notificationService) {
+    private final IOutboxService outboxService;
+    private final IJobSearchCacheService jobSearchCacheService;
+    private final IJobIndexService jobIndexService;
+    private final ISuggestionService suggestionService;
+    private final IRelatedJobService relatedJobService;
+    private final IJobDetailCacheService jobDetailCacheService;
+
+    // Search latency per engine, to compare the postgres and the in-memory search
+    private final LatencyRecorder dbSearchLatency = new LatencyRecorder("dbSearch");
+    private final LatencyRecorder memorySearchLatency = new LatencyRecorder("memorySearch");
+
+    public JobServiceImpl(JobRepository jobRepository, JobMapper jobMapper, CompanyRepository companyRepository, IJobSaveService jobSaveService, JwtUtil jwtUtil, IApplyService applyService, IOutboxService outboxService, IJobSearchCacheService jobSearchCacheService, IJobIndexService jobIndexService, ISuggestionService suggestionService, IRelatedJobService relatedJobService, IJobDetailCacheService jobDetailCacheService) {
         this.jobRepository = jobRepository;
-        this.modelMapper = modelMapper;
+        this.jobMapper = jobMapper;
         this.companyRepository = companyRepository;
         this.jobSaveService = jobSaveService;
 
         this.jwtUtil = jwtUtil;
         this.applyService = applyService;
-        this.notificationService = notificationService;
+        this.outboxService = outboxService;
+        this.jobSearchCacheService = jobSearchCacheService;
+        this.jobIndexService = jobIndexService;
+        this.suggestionService = suggestionService;
+        this.relatedJobService = relatedJobService;
+        this.jobDetailCacheService = jobDetailCacheService;
     }
 
     @Override
@@ -80,24 +114,27 @@ public class JobServiceImpl implements IJobService {
 
         Job savedJob = jobRepository.save(newJob);
 
-        List<String> followerIds = company.getCompanyFollowers().stream().map(companyFollow ->
-                companyFollow.getId().getUserId().toString()).toList();
+        jobSearchCacheService.onJobCreated(savedJob.getId(), savedJob.getJobStatus());
+        jobIndexService.onJobCreated(savedJob);
+        suggestionService.onJobCreated(savedJob);
+        relatedJobService.onJobCreated(savedJob);
+        jobDetailCacheService.evict(savedJob.getId());
 
         // After create a new job, send notifications to followers
-        System.out.println("Create job thread: " + Thread.currentThread().getName());
-
         String title = "Nhà tuyển dụng đã đăng việc làm mới";
         String message =  "Công ty " + company.getName() + " vừa đăng tin tuyển dụng mới. Vào xem ngay.";
-
         String link = "#";
         NotificationRequest notificationRequest = new NotificationRequest(message, title, link, savedJob.getCreatedAt());
-        notificationService.sendNotificationToMultipleUser(followerIds, notificationRequest);
 
-        return modelMapper.map(savedJob, JobDetailResponse.class);
+        // Saved with the job, the outbox relay hands it to the follower fan-out once committed
+        outboxService.enqueueFollowerNotification(company.getId(), company.getName(), notificationRequest);
+
+        return jobMapper.toJobDetailResponse(savedJob);
     }
 
     @Override
     public JobDetailResponse updateJob(long id, JobDetailResponse jobDetailResponse) {
+        jobDetailCacheService.evict(id);
         return null;
     }
 
@@ -109,53 +146,34 @@ public class JobServiceImpl implements IJobService {
         PageRequest pageRequest = PageRequest.of(currentPage, pageSize, sort);
 
 
-        Page<Job> jobPage = jobRepository.findAllWithCompany(pageRequest);
-
-//        Page<GetJobResponse> jobResPage = jobPage.map(job -> modelMapper.map(job, GetJobResponse.class));
-//        ExampleMatcher matcher = ExampleMatcher.matching().withStringMatcher(ExampleMatcher.StringMatcher.CONTAINING)
-
-        Page<GetJobResponse> jobResPage = jobPage.map(job -> {
-            return GetJobResponse.builder()
-                    .id(job.getId())
-                    .salaryFrom(job.getSalaryFrom())
-                    .salaryTo(job.getSalaryTo())
-                    .city(job.getCity())
-                    .name(job.getName())
-                    .yearOfExperience(job.getYearOfExperience())
-                    .companyName(job.getCompany().getName())
-                    .companyImg(job.getCompany().getImgUrl())
-                    .companyId(job.getCompany().getId())
-                    .createdAt(job.getCreatedAt())
-                    .updatedAt(job.getUpdatedAt())
-                    .build();
-        });
-
-
-        return jobResPage;
+        // Constructor projection: only the GetJobResponse columns, no Job entities to map
+        return jobRepository.findAllJobResponses(pageRequest);
     }
 
     @Override
     public JobDetailResponse getJobDetailById(long id) {
-        Job job = getJobById(id);
-        JobDetailResponse response = modelMapper.map(job, JobDetailResponse.class);
-
-
-        return response;
+        // Hottest read: local cache, then Redis, then DB
+        return jobDetailCacheService.getJobDetail(id, () -> jobMapper.toJobDetailResponse(getJobById(id)));
     }
 
     @Override
     public JobDetailCompanyResponse getJobDetailWithCompanyById(long id) {
-        Job job = getJobById(id);
+        // The shared job body first: an unknown id is a 404 before any per-user lookup starts
+        JobDetailCompanyResponse cached = jobDetailCacheService.getJobDetailWithCompany(id,
+                () -> jobMapper.toJobDetailCompanyResponse(getJobById(id)));
 
-        JobDetailCompanyResponse response = modelMapper.map(job, JobDetailCompanyResponse.class);
+        // Per-user lookups run in parallel, so the latency is the slowest one instead of the sum:
+        // the saved flag is a non-blocking Redis read while the apply lookup runs on this thread
+        CompletableFuture<Boolean> isSaved = jobSaveService.isJobSavedAsync(id);
+        JobApply jobApply = applyService.findJobApplyByJobId(id);
 
-        boolean isSaved = jobSaveService.isJobSaved(job.getId());
-        response.setSaved(isSaved);
+        // The cached response is shared between users, set the per-user fields on a copy
+        JobDetailCompanyResponse response = jobMapper.copy(cached);
 
-        JobApply apply = applyService.findJobApplyByJobId(job.getId());
+        response.setSaved(join(isSaved));
 
-        if(apply != null){
-            response.setAppliedAt(apply.getCreatedAt());
+        if(jobApply != null){
+            response.setAppliedAt(jobApply.getCreatedAt());
         }
         return response;
     }
@@ -173,28 +191,7 @@ public class JobServiceImpl implements IJobService {
         PageRequest pageRequest = PageRequest.of(currentPage, pageSize, sort);
 
 
-        Page<Job> jobPage = jobRepository.findJobByCompanyId( companyId, pageRequest);
-
-//        Page<GetJobResponse> jobResPage = jobPage.map(job -> modelMapper.map(job, GetJobResponse.class));
-//        ExampleMatcher matcher = ExampleMatcher.matching().withStringMatcher(ExampleMatcher.StringMatcher.CONTAINING)
-
-        Page<GetJobResponse> jobResPage = jobPage.map(job -> {
-            return GetJobResponse.builder()
-                    .id(job.getId())
-                    .salaryFrom(job.getSalaryFrom())
-                    .salaryTo(job.getSalaryTo())
-                    .city(job.getCity())
-                    .name(job.getName())
-                    .createdAt(job.getCreatedAt())
-                    .updatedAt(job.getUpdatedAt())
-                    .yearOfExperience(job.getYearOfExperience())
-                    .companyName(job.getCompany().getName())
-                    .companyImg(job.getCompany().getImgUrl())
-                    .companyId(job.getCompany().getId())
-                    .build();
-        });
-
-        return jobResPage;
+        return jobRepository.findJobResponsesByCompanyId(companyId, pageRequest);
     }
 
     @Override
@@ -209,9 +206,7 @@ public class JobServiceImpl implements IJobService {
 //        Page<GetJobResponse> jobResPage = jobPage.map(job -> modelMapper.map(job, GetJobResponse.class));
 //        ExampleMatcher matcher = ExampleMatcher.matching().withStringMatcher(ExampleMatcher.StringMatcher.CONTAINING)
 
-        Page<JobPostResponse> jobResPage = jobPage.map(job -> {
-            return modelMapper.map(job, JobPostResponse.class);
-        });
+        Page<JobPostResponse> jobResPage = jobPage.map(jobMapper::toJobPostResponse);
 
         return jobResPage;
     }
@@ -220,6 +215,17 @@ public class JobServiceImpl implements IJobService {
     public List<GetJobResponse> getRelatedJob(Long jobId, String title, int limit) {
 //        List<GetJobResponseDto> relatedJobs = jobRepository.findRelatedJobsByKeyword(jobId, limit);
 
+        // Precomputed MinHash neighbours, rows come from the per-job cache
+        List<Long> relatedIds = relatedJobService.getRelatedJobIds(jobId, limit);
+        if(relatedIds != null && !relatedIds.isEmpty()){
+            return jobSearchCacheService.getJobResponses(relatedIds);
+        }
+
+        // Job not indexed (not ACTIVE or index not built yet) or without similar jobs: fall back to the full-text query
+        if(title == null || title.isEmpty()){
+            return new ArrayList<>();
+        }
+
         Specification<Job> spec = (root, query, cb) -> {
             // Add filtering logic
             Predicate predicate = Specification
@@ -239,7 +245,7 @@ public class JobServiceImpl implements IJobService {
 
         Page<Job> jobPage = jobRepository.findAll(spec, PageRequest.of(0, limit));
 
-        Page<GetJobResponse> jobResponses = jobPage.map(job -> modelMapper.map(job, GetJobResponse.class));
+        Page<GetJobResponse> jobResponses = jobPage.map(jobMapper::toGetJobResponse);
 
         return jobResponses.getContent().stream().
                 filter(job -> job.getId() != jobId).collect(Collectors.toList());
@@ -255,22 +261,24 @@ public class JobServiceImpl implements IJobService {
     public Page<GetJobResponse> searchForJobs(int currentPage, int pageSize, String sortBy, boolean isAscending, JobFilter jobFilter) {
 //        Sort sort = isAscending ? Sort.by(sortBy) : Sort.by(sortBy).descending();
 
-        StringBuilder stringBuilder = new StringBuilder();
-        
         PageRequest pageRequest = PageRequest.of(currentPage, pageSize);
+        long start = System.nanoTime();
+
+        if(jobIndexService.isEnabled()){
+            // In-memory engine: ids come from the index, rows from the per-job cache
+            JobIndexResult result = jobIndexService.search(jobFilter, currentPage, pageSize, sortBy, isAscending);
+            List<GetJobResponse> content = jobSearchCacheService.getJobResponses(result.getJobIds());
+
+            Map<Long, Boolean> savedJobs = resolveSavedJobs(result.getJobIds());
+            content = withSavedFlags(content, savedJobs);
+
+            memorySearchLatency.record(start);
+            return new PageImpl<>(content, pageRequest, result.getTotalElements());
+        }
 
         Specification<Job> spec = (root, query, cb) -> {
             // Add fuzzy search, full-text search and filtering logic
-            Predicate predicate = Specification
-                    .where(JobSpecifications.hasKeyword(jobFilter.getKeyword())
-                            .or(JobSpecifications.hasTitleMatchPartialWithSimilarity(jobFilter.getKeyword()))
-                            .and(JobSpecifications.hasJobType(jobFilter.getJobType()))
-                            .and(JobSpecifications.hasIndustry(jobFilter.getIndustry()))
-                            .and(JobSpecifications.hasLevel(jobFilter.getLevel()))
-                            .and(JobSpecifications.hasExperienceBetween(jobFilter.getMinExperience(), jobFilter.getMaxExperience()))
-                            .and(JobSpecifications.hasSalaryBetween(jobFilter.getMinSalary(), jobFilter.getMaxSalary()))
-                            .and(JobSpecifications.hasCityIn(jobFilter.getCities())))
-                            .and(JobSpecifications.hasStatus(JobStatusEnum.ACTIVE))
+            Predicate predicate = searchSpecification(jobFilter)
                     .toPredicate(root, query, cb);
 
             // Add ordering logic
@@ -297,19 +305,168 @@ public class JobServiceImpl implements IJobService {
 
 
 
-        Page<Job> jobPage = jobRepository.findAll(spec, pageRequest);
+        // Search pages are cached as ordered job ids, rows are hydrated from the per-job cache
+        String cacheKey = jobSearchCacheService.searchKey(jobFilter, currentPage, pageSize, sortBy, isAscending);
+        JobSearchCacheEntry cachedResult = jobSearchCacheService.getSearchResult(cacheKey);
+
+        List<GetJobResponse> content;
+        long totalElements;
+
+        if(cachedResult != null){
+            content = jobSearchCacheService.getJobResponses(cachedResult.getJobIds());
+            totalElements = cachedResult.getTotalElements();
+        } else {
+            Page<GetJobResponse> jobPage = jobRepository.findResponsePage(spec, pageRequest);
 
+            content = new ArrayList<>(jobPage.getContent());
+            totalElements = jobPage.getTotalElements();
+
+            jobSearchCacheService.putSearchResult(cacheKey, content, totalElements);
+        }
 
-        return jobPage.map(job -> {
-                GetJobResponse response = modelMapper.map(job, GetJobResponse.class);
+        // isSaved is per user, resolve it after the shared rows are cached
+        Map<Long, Boolean> savedJobs = resolveSavedJobs(content.stream().map(GetJobResponse::getId).toList());
+        content = withSavedFlags(content, savedJobs);
 
-                if(JwtUtil.isAuthenticated()){
-                    boolean isSaved = jobSaveService.isJobSaved(job.getId());
-                    response.setSaved(isSaved);
-                }
-                return response;
-            }
-        );
+        dbSearchLatency.record(start);
+        return new PageImpl<>(content, pageRequest, totalElements);
+    }
+
+    @Override
+    public List<LatencyStats> getSearchLatencyStats() {
+        return List.of(dbSearchLatency.snapshot(), memorySearchLatency.snapshot());
+    }
+
+    @Override
+    public CursorPage<GetJobResponse> searchForJobsByCursor(int pageSize, String sortBy, boolean isAscending, JobFilter jobFilter, String cursor) {
+        if(sortBy != null && !sortBy.isEmpty() && !JobSearchCursor.SORTABLE_FIELDS.contains(sortBy)){
+            throw new IllegalArgumentException("Cursor search can only sort by " + JobSearchCursor.SORTABLE_FIELDS);
+        }
+
+        JobSearchCursor after = cursor != null && !cursor.isEmpty() ? JobSearchCursor.decode(cursor) : null;
+        if(after != null && !after.matches(sortBy, isAscending)){
+            throw new IllegalArgumentException("Cursor does not match the requested sort order");
+        }
+
+        String keyword = jobFilter.getKeyword();
+
+        Specification<Job> spec = (root, query, cb) -> {
+            // Same filters as the offset search, plus the seek predicate instead of OFFSET
+            Predicate predicate = searchSpecification(jobFilter)
+                    .and(JobSpecifications.isAfterCursor(after, keyword, sortBy, isAscending))
+                    .toPredicate(root, query, cb);
+
+            // Ordering must match the seek predicate: sortBy, rank, then id as tie-breaker
+            JobOrdering jobOrdering = new JobOrdering();
+            jobOrdering.addSortBy(root, cb, sortBy, isAscending);
+            jobOrdering.addRankOrder(root, cb, keyword);
+            jobOrdering.addIdOrder(root, cb);
+
+            jobOrdering.apply(query);
+
+            return predicate;
+        };
+
+        // Fetch one extra row to know if there is a next page, so no count query is needed
+        List<JobSeekRepository.JobSeekRow> rows = jobRepository.findSeekPage(spec, keyword, pageSize + 1);
+
+        boolean hasNext = rows.size() > pageSize;
+        List<JobSeekRepository.JobSeekRow> pageRows = hasNext ? rows.subList(0, pageSize) : rows;
+
+        String nextCursor = null;
+        if(hasNext){
+            JobSeekRepository.JobSeekRow last = pageRows.get(pageRows.size() - 1);
+            nextCursor = JobSearchCursor.from(last.getJob(), last.getRank(), sortBy, isAscending).encode();
+        }
+
+        Map<Long, Boolean> savedJobs = resolveSavedJobs(pageRows.stream().map(row -> row.getJob().getId()).toList());
+
+        List<GetJobResponse> content = pageRows.stream()
+                .map(row -> toSearchResponse(row.getJob(), savedJobs))
+                .toList();
+
+        return new CursorPage<>(content, nextCursor);
+    }
+
+    @Override
+    public JobFacetResponse getSearchFacets(JobFilter jobFilter) {
+        String cacheKey = jobSearchCacheService.facetKey(jobFilter);
+        JobFacetResponse cachedFacets = jobSearchCacheService.getFacets(cacheKey);
+        if(cachedFacets != null){
+            return cachedFacets;
+        }
+
+        // One grouped query, then fold the (industry, level, jobType, city) groups into per-facet counts
+        List<JobFacetRepository.JobFacetRow> rows = jobRepository.findFacetRows(searchSpecification(jobFilter));
+
+        long total = 0;
+        Map<IndustryEnum, Long> industries = new LinkedHashMap<>();
+        Map<LevelEnum, Long> levels = new LinkedHashMap<>();
+        Map<JobTypeEnum, Long> jobTypes = new LinkedHashMap<>();
+        Map<String, Long> cities = new HashMap<>();
+
+        for (JobFacetRepository.JobFacetRow row : rows) {
+            total += row.getCount();
+            if(row.getIndustry() != null) industries.merge(row.getIndustry(), row.getCount(), Long::sum);
+            if(row.getLevel() != null) levels.merge(row.getLevel(), row.getCount(), Long::sum);
+            if(row.getJobType() != null) jobTypes.merge(row.getJobType(), row.getCount(), Long::sum);
+            // A job in several cities is counted once per city
+            row.getCities().forEach(city -> cities.merge(city, row.getCount(), Long::sum));
+        }
+
+        Map<String, Long> sortedCities = cities.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (a, b) -> a, LinkedHashMap::new));
+
+        JobFacetResponse facets = new JobFacetResponse(total, industries, levels, jobTypes, sortedCities);
+        jobSearchCacheService.putFacets(cacheKey, facets);
+
+        return facets;
+    }
+
+    // Fuzzy search, full-text search and filters shared by offset and cursor search
+    private Specification<Job> searchSpecification(JobFilter jobFilter) {
+        return Specification
+                .where(JobSpecifications.hasKeyword(jobFilter.getKeyword())
+                        .or(JobSpecifications.hasTitleMatchPartialWithSimilarity(jobFilter.getKeyword()))
+                        .and(JobSpecifications.hasJobType(jobFilter.getJobType()))
+                        .and(JobSpecifications.hasIndustry(jobFilter.getIndustry()))
+                        .and(JobSpecifications.hasLevel(jobFilter.getLevel()))
+                        .and(JobSpecifications.hasExperienceBetween(jobFilter.getMinExperience(), jobFilter.getMaxExperience()))
+                        .and(JobSpecifications.hasSalaryBetween(jobFilter.getMinSalary(), jobFilter.getMaxSalary()))
+                        .and(JobSpecifications.hasCityIn(jobFilter.getCities())))
+                .and(JobSpecifications.hasStatus(JobStatusEnum.ACTIVE));
+    }
+
+    // Resolve isSaved for the whole page at once instead of one Redis call per row
+    // Cached rows can be shared by concurrent requests, set the per-user flag on copies
+    private static List<GetJobResponse> withSavedFlags(List<GetJobResponse> rows, Map<Long, Boolean> savedJobs) {
+        return rows.stream()
+                .map(row -> row.toBuilder().isSaved(savedJobs.getOrDefault(row.getId(), false)).build())
+                .collect(Collectors.toList());
+    }
+
+    private Map<Long, Boolean> resolveSavedJobs(List<Long> jobIds) {
+        if(!JwtUtil.isAuthenticated() || jobIds.isEmpty()) return Map.of();
+
+        return jobSaveService.areJobsSaved(jobIds);
+    }
+
+    // Rethrow the original exception of a lookup so GlobalExceptionHandler still maps it
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if(e.getCause() instanceof RuntimeException cause) throw cause;
+            throw e;
+        }
+    }
+
+    private GetJobResponse toSearchResponse(Job job, Map<Long, Boolean> savedJobs) {
+        GetJobResponse response = jobMapper.toGetJobResponse(job);
+        response.setSaved(savedJobs.getOrDefault(job.getId(), false));
+
+        return response;
     }
 
 
@@ -324,6 +481,12 @@ public class JobServiceImpl implements IJobService {
 //        jobRepository.save(job);
         try{
             jobRepository.updateJobStatus(request.getJobStatus(), request.getJobId());
+
+            jobSearchCacheService.onJobStatusChanged(request.getJobId(), request.getJobStatus());
+            jobIndexService.onJobStatusChanged(request.getJobId(), request.getJobStatus());
+            suggestionService.onJobStatusChanged(request.getJobId(), request.getJobStatus());
+            relatedJobService.onJobStatusChanged(request.getJobId(), request.getJobStatus());
+            jobDetailCacheService.evict(request.getJobId());
         } catch (RuntimeException e) {
             throw new RuntimeException(e.getMessage());
         }
@@ -1,34 +1,129 @@
 package com.example.Job.service.Impl;
 
+import com.example.Job.config.RedisConfig;
 import com.example.Job.config.WebSocket.WebSocketConfig;
+import com.example.Job.entity.Id.NotificationReadId;
 import com.example.Job.entity.Notification;
+import com.example.Job.entity.NotificationRead;
+import com.example.Job.exception.ResourceNotFoundException;
+import com.example.Job.mapper.NotificationMapper;
+import com.example.Job.models.CursorPage;
+import com.example.Job.models.dtos.NotificationCursor;
 import com.example.Job.models.dtos.NotificationRequest;
 import com.example.Job.models.dtos.NotificationResponse;
+import com.example.Job.repository.CompanyFollowRepository;
+import com.example.Job.repository.NotificationReadRepository;
 import com.example.Job.repository.NotificationRepository;
 import com.example.Job.security.JwtUtil;
 import com.example.Job.service.INotificationService;
+import com.example.Job.service.IRedisService;
+import com.example.Job.utils.TransactionUtil;
+import jakarta.annotation.PreDestroy;
 import jakarta.transaction.Transactional;
-import org.modelmapper.ModelMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongConsumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
 public class NotificationServiceImpl implements INotificationService {
 
+    private static final Logger log = LoggerFactory.getLogger(NotificationServiceImpl.class);
+
+    // Followers notified per INSERT ... SELECT, each chunk commits on its own
+    @Value("${app.notification.fanout-chunk-size:1000}")
+    private int fanoutChunkSize;
+
+    // From this many followers a job post is saved once as a company broadcast, merged into inboxes on read
+    @Value("${app.notification.broadcast-threshold:10000}")
+    private long broadcastThreshold;
+
+    // Posts of one company within this window become one notification, 0 turns coalescing off
+    @Value("${app.notification.coalesce-window-ms:10000}")
+    private long coalesceWindowMillis;
+
     private final NotificationRepository notificationRepository;
+    private final NotificationReadRepository notificationReadRepository;
+    private final CompanyFollowRepository companyFollowRepository;
     private final JwtUtil jwtUtil;
     private final SimpMessagingTemplate simpMessagingTemplate;
-    private final ModelMapper modelMapper;
+    private final NotificationMapper notificationMapper;
+    private final IRedisService redisService;
+    private final Executor fanoutExecutor;
+
+    private final AtomicLong fanoutIds = new AtomicLong();
+    private final Map<Long, FanoutProgress> runningFanouts = new ConcurrentHashMap<>();
+    private final LongAdder fanoutRuns = new LongAdder();
+    private final LongAdder fanoutChunks = new LongAdder();
+    private final LongAdder fanoutRecipients = new LongAdder();
+    private volatile double lastFanoutPerSecond;
+    // Write cost vs read cost of the two models
+    private final LongAdder broadcasts = new LongAdder();
+    private final LongAdder broadcastFollowers = new LongAdder();
+    private final LongAdder inboxReads = new LongAdder();
+    private final LongAdder broadcastRowsMerged = new LongAdder();
+
+    // Unread counters are rebuilt from the database when missing, the TTL bounds any drift.
+    // Broadcasts are not counted per follower on write, so their part is recounted more often.
+    private static final Duration UNREAD_COUNT_TTL = Duration.ofHours(1);
+    private static final Duration UNREAD_BROADCAST_COUNT_TTL = Duration.ofMinutes(1);
+
+    // A digest cursor outlives any sane retry schedule, then goes away by itself
+    private static final Duration DIGEST_CURSOR_TTL = Duration.ofDays(1);
+    private static final Duration DIGEST_REQUEUE_DELAY = Duration.ofMillis(200);
 
-    public NotificationServiceImpl(NotificationRepository notificationRepository, JwtUtil jwtUtil, SimpMessagingTemplate simpMessagingTemplate, ModelMapper modelMapper) {
+    // Open coalescing windows by company id
+    private final Map<Long, CompanyDigest> openDigests = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService digestScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "NotificationDigest");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final LongAdder digests = new LongAdder();
+    private final LongAdder coalescedPosts = new LongAdder();
+
+    public NotificationServiceImpl(NotificationRepository notificationRepository, NotificationReadRepository notificationReadRepository, CompanyFollowRepository companyFollowRepository, JwtUtil jwtUtil, SimpMessagingTemplate simpMessagingTemplate, NotificationMapper notificationMapper, IRedisService redisService, @Qualifier("notificationFanoutExecutor") Executor fanoutExecutor) {
         this.notificationRepository = notificationRepository;
+        this.notificationReadRepository = notificationReadRepository;
+        this.companyFollowRepository = companyFollowRepository;
         this.jwtUtil = jwtUtil;
         this.simpMessagingTemplate = simpMessagingTemplate;
-        this.modelMapper = modelMapper;
+        this.notificationMapper = notificationMapper;
+        this.redisService = redisService;
+        this.fanoutExecutor = fanoutExecutor;
     }
 
 
@@ -43,7 +138,9 @@ public class NotificationServiceImpl implements INotificationService {
         notification.setLink(notificationRequest.getLink());
         notification.setCreatedAt(notificationRequest.getCreatedAt());
         try{
-            return notificationRepository.save(notification);
+            Notification savedNotification = notificationRepository.save(notification);
+            incrementUnreadCounts(List.of(savedNotification.getRecipientId()), 1);
+            return savedNotification;
         } catch (RuntimeException e) {
             throw new RuntimeException(e);
         }
@@ -79,6 +176,7 @@ public class NotificationServiceImpl implements INotificationService {
         }).collect(Collectors.toList());
 
         notificationRepository.saveAll(notifications);
+        incrementUnreadCounts(notifications.stream().map(Notification::getRecipientId).toList(), 1);
 
     }
     @Override
@@ -101,18 +199,334 @@ public class NotificationServiceImpl implements INotificationService {
     }
 
     @Override
-    public List<NotificationResponse> getAllNotificationsForUser() {
+    public void notifyCompanyFollowers(long companyId, NotificationRequest notificationRequest, long afterUserId, LongConsumer onChunk) {
+        // A resumed fan-out (afterUserId > 0) finishes as a fan-out even if the company grew meanwhile
+        if (afterUserId == 0) {
+            long followers = companyFollowRepository.countFollowersByCompanyId(companyId);
+            if (followers >= broadcastThreshold) {
+                broadcastToFollowers(companyId, followers, notificationRequest);
+                return;
+            }
+        }
+
+        FanoutProgress progress = new FanoutProgress(companyId);
+        long fanoutId = fanoutIds.incrementAndGet();
+        runningFanouts.put(fanoutId, progress);
+        fanoutRuns.increment();
+
+        long start = System.nanoTime();
+        try {
+            while (true) {
+                List<Long> recipientIds = notificationRepository.insertForFollowersAfter(
+                        companyId, afterUserId, fanoutChunkSize, notificationRequest);
+                if (recipientIds.isEmpty()) break;
+
+                // Rows of the chunk are committed, push them now rather than after the whole fan-out
+                recipientIds.forEach(recipientId -> simpMessagingTemplate.convertAndSendToUser(
+                        recipientId.toString(),
+                        WebSocketConfig.userPrivateNotificationDestination,
+                        notificationRequest));
+
+                incrementUnreadCounts(recipientIds, 1);
+
+                afterUserId = Collections.max(recipientIds);
+                onChunk.accept(afterUserId);
+                progress.delivered.addAndGet(recipientIds.size());
+                fanoutChunks.increment();
+                fanoutRecipients.add(recipientIds.size());
+
+                if (recipientIds.size() < fanoutChunkSize) break;
+            }
+        } catch (RuntimeException e) {
+            // Chunks before the cursor are saved and pushed already
+            log.error("Notification fan-out of company {} failed after user {}, error: {}", companyId, afterUserId, e.getMessage());
+            throw e;
+        } finally {
+            runningFanouts.remove(fanoutId);
+
+            long elapsedMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            lastFanoutPerSecond = progress.delivered.get() * 1000.0 / elapsedMillis;
+            log.info("Notified {} followers of company {} in {} ms", progress.delivered.get(), companyId, elapsedMillis);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> notifyCompanyFollowersCoalesced(long eventId, long companyId, String companyName, NotificationRequest notificationRequest) {
+        // Joins the open window of the company, or opens one; compute is atomic with the remove in deliverDigest
+        CompanyDigest digest = openDigests.compute(companyId, (id, open) -> {
+            CompanyDigest current = open != null ? open : new CompanyDigest(companyId);
+            current.add(eventId, companyName, notificationRequest);
+            return current;
+        });
+
+        if (digest.scheduled.compareAndSet(false, true)) {
+            digestScheduler.schedule(() -> handOver(digest), Math.max(0, coalesceWindowMillis), TimeUnit.MILLISECONDS);
+        }
+        return digest.delivered;
+    }
+
+    // The scheduler thread only hands over, the fan-out runs on the fan-out pool
+    private void handOver(CompanyDigest digest) {
+        try {
+            fanoutExecutor.execute(() -> deliverDigest(digest));
+        } catch (RejectedExecutionException e) {
+            // Pool saturated: the window stays open and the hand-over is tried again shortly
+            log.warn("Fan-out pool is full, digest of company {} is re-queued", digest.companyId);
+            digestScheduler.schedule(() -> handOver(digest), DIGEST_REQUEUE_DELAY.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void deliverDigest(CompanyDigest digest) {
+        // Closed: later posts open a new window
+        openDigests.remove(digest.companyId, digest);
+
+        // The cursor belongs to this exact set of posts: a retry coalescing the same posts resumes after
+        // the last committed chunk, a digest holding any other post starts from the first follower
+        String cursorKey = RedisConfig.generateKey(Notification.class, "digestCursor", digest.companyId + ":" + digest.eventSetId());
+        try {
+            String cursor = redisService.get(cursorKey, String.class);
+            long afterUserId = cursor != null ? Long.parseLong(cursor) : 0;
+
+            notifyCompanyFollowers(digest.companyId, digest.toRequest(), afterUserId,
+                    lastUserId -> redisService.set(cursorKey, String.valueOf(lastUserId), DIGEST_CURSOR_TTL));
+            redisService.delete(cursorKey);
+
+            digests.increment();
+            coalescedPosts.add(digest.posts());
+            digest.delivered.complete(null);
+        } catch (RuntimeException e) {
+            digest.delivered.completeExceptionally(e);
+        }
+    }
+
+    @PreDestroy
+    public void stopDigests() {
+        // Open windows are not delivered: their outbox records are not acknowledged and get retried
+        digestScheduler.shutdownNow();
+    }
+
+    // Fan-out-on-read: one row whatever the follower count, pushed on the company topic
+    private void broadcastToFollowers(long companyId, long followers, NotificationRequest notificationRequest) {
+        Notification notification = new Notification();
+        notification.setCompanyId(companyId);
+        notification.setTitle(notificationRequest.getTitle());
+        notification.setMessage(notificationRequest.getMessage());
+        notification.setLink(notificationRequest.getLink());
+        notification.setCreatedAt(notificationRequest.getCreatedAt());
+        notificationRepository.save(notification);
+
+        simpMessagingTemplate.convertAndSend(
+                WebSocketConfig.companyNotificationDestinationPrefix + companyId,
+                notificationRequest);
+
+        broadcasts.increment();
+        broadcastFollowers.add(followers);
+        log.info("Broadcast notification of company {} to {} followers", companyId, followers);
+    }
+
+    @Override
+    public Map<String, Object> getFanoutStats() {
+        List<Map<String, Object>> running = new ArrayList<>();
+        runningFanouts.values().forEach(progress -> {
+            Map<String, Object> run = new LinkedHashMap<>();
+            run.put("companyId", progress.companyId);
+            run.put("delivered", progress.delivered.get());
+            run.put("elapsedMillis", Duration.between(progress.startedAt, Instant.now()).toMillis());
+            running.add(run);
+        });
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("runs", fanoutRuns.sum());
+        stats.put("chunks", fanoutChunks.sum());
+        stats.put("recipients", fanoutRecipients.sum());
+        stats.put("lastRunPerSecond", lastFanoutPerSecond);
+        stats.put("running", running);
+        // Rows written: "recipients" for fan-outs, "broadcasts" instead of "broadcastFollowers" rows
+        stats.put("broadcastThreshold", broadcastThreshold);
+        stats.put("broadcasts", broadcasts.sum());
+        stats.put("broadcastFollowers", broadcastFollowers.sum());
+        // Rows read: broadcasts merged into inboxes
+        stats.put("inboxReads", inboxReads.sum());
+        stats.put("broadcastRowsMerged", broadcastRowsMerged.sum());
+        // Coalescing: posts delivered as digests, and windows still open
+        stats.put("coalesceWindowMillis", coalesceWindowMillis);
+        stats.put("digests", digests.sum());
+        stats.put("coalescedPosts", coalescedPosts.sum());
+        stats.put("openDigests", openDigests.size());
+        return stats;
+    }
+
+    @Override
+    public CursorPage<NotificationResponse> getInbox(int pageSize, String cursor) {
+        if (pageSize < 1 || pageSize > 100) {
+            throw new RuntimeException("Page size must be between 1 and 100");
+        }
+
         Long userId = Long.valueOf(jwtUtil.extractUserIdFromToken());
+        NotificationCursor after = cursor != null && !cursor.isEmpty() ? NotificationCursor.decode(cursor) : null;
+
+        // One extra row tells whether there is a next page, no count query
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        List<Notification> personal = after == null
+                ? notificationRepository.findInboxFirstPage(userId, limit)
+                : notificationRepository.findInboxPageAfter(userId, after.getCreatedAt(), after.getId(), limit);
+        List<Notification> broadcastRows = after == null
+                ? notificationRepository.findBroadcastFirstPage(userId, limit)
+                : notificationRepository.findBroadcastPageAfter(userId, after.getCreatedAt(), after.getId(), limit);
+
+        // Both lists are in (createdAt, id) DESC order: merge them and keep the first pageSize + 1
+        List<Notification> rows = new ArrayList<>(personal);
+        rows.addAll(broadcastRows);
+        rows.sort(Comparator.comparing(Notification::getCreatedAt).thenComparing(Notification::getId).reversed());
 
-        return notificationRepository.findNotificationsByRecipientId(userId).stream().map(notification ->
-                modelMapper.map(notification, NotificationResponse.class)).collect(Collectors.toList());
+        boolean hasNext = rows.size() > pageSize;
+        List<Notification> pageRows = hasNext ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasNext ? NotificationCursor.from(pageRows.get(pageRows.size() - 1)).encode() : null;
+
+        List<Long> broadcastIds = pageRows.stream()
+                .filter(notification -> notification.getRecipientId() == null)
+                .map(Notification::getId)
+                .toList();
+        Set<Long> readBroadcastIds = broadcastIds.isEmpty() ? Set.of()
+                : new HashSet<>(notificationReadRepository.findReadNotificationIds(userId, broadcastIds));
+
+        List<NotificationResponse> content = pageRows.stream().map(notification -> {
+            NotificationResponse response = notificationMapper.toNotificationResponse(notification);
+            if (notification.getRecipientId() == null) {
+                response.setRecipientId(userId.toString());
+                response.setRead(readBroadcastIds.contains(notification.getId()));
+            }
+            return response;
+        }).toList();
 
+        inboxReads.increment();
+        broadcastRowsMerged.add(broadcastRows.size());
+        return new CursorPage<>(content, nextCursor);
+    }
+
+    @Override
+    public long getUnreadCount() {
+        Long userId = Long.valueOf(jwtUtil.extractUserIdFromToken());
+
+        return cachedCount(unreadCountKey(userId), UNREAD_COUNT_TTL,
+                () -> notificationRepository.countUnreadByRecipientId(userId))
+                + cachedCount(unreadBroadcastCountKey(userId), UNREAD_BROADCAST_COUNT_TTL,
+                () -> notificationRepository.countUnreadBroadcasts(userId));
     }
 
     @Override
     @Transactional
     public void markNotificationAsRead(long id) {
-        notificationRepository.markAsReadById(id);
+        Notification notification = notificationRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Notification", "id", id));
+
+        if (notification.getRecipientId() != null) {
+            // Already read: nothing changes, the counter stays
+            if (notificationRepository.markAsReadById(id) > 0) {
+                long recipientId = notification.getRecipientId();
+                TransactionUtil.afterCommit(() -> redisService.incrementCounter(unreadCountKey(recipientId), -1));
+            }
+            return;
+        }
+
+        // A broadcast is shared, mark it read for the current user only
+        Long userId = Long.valueOf(jwtUtil.extractUserIdFromToken());
+        NotificationReadId readId = new NotificationReadId(id, userId);
+        if (notificationReadRepository.existsById(readId)) return;
+
+        notificationReadRepository.save(new NotificationRead(readId, null));
+        TransactionUtil.afterCommit(() -> redisService.incrementCounter(unreadBroadcastCountKey(userId), -1));
+    }
+
+    @Override
+    @Transactional
+    public int markAllNotificationsAsRead() {
+        Long userId = Long.valueOf(jwtUtil.extractUserIdFromToken());
+
+        int marked = notificationRepository.markAllAsReadByRecipientId(userId)
+                + notificationRepository.markAllBroadcastsAsRead(userId);
+
+        // Recounted on the next read, which is cheap now that nothing is unread
+        TransactionUtil.afterCommit(() -> redisService.delete(List.of(unreadCountKey(userId), unreadBroadcastCountKey(userId))));
+        return marked;
+    }
+
+    // Counters that exist move with the insert, missing ones are rebuilt on the next read
+    private void incrementUnreadCounts(List<Long> recipientIds, long delta) {
+        List<String> keys = recipientIds.stream().distinct().map(NotificationServiceImpl::unreadCountKey).toList();
+        TransactionUtil.afterCommit(() -> redisService.incrementCounters(keys, delta));
+    }
+
+    private long cachedCount(String key, Duration ttl, Supplier<Long> counter) {
+        Long cached = redisService.getCounter(key);
+        if (cached != null) return cached;
+
+        long count = counter.get();
+        redisService.initCounter(key, count, ttl);
+        return count;
+    }
+
+    private static String unreadCountKey(Long userId) {
+        return RedisConfig.generateKey(Notification.class, "unread", userId);
+    }
+
+    private static String unreadBroadcastCountKey(Long userId) {
+        return RedisConfig.generateKey(Notification.class, "unreadBroadcasts", userId);
+    }
+
+    // Posts of one company collected during a coalescing window
+    private static class CompanyDigest {
+        private final long companyId;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final CompletableFuture<Void> delivered = new CompletableFuture<>();
+        // Written inside openDigests.compute, read after the remove that closes the window
+        private final SortedSet<Long> eventIds = new TreeSet<>();
+        private String companyName;
+        private NotificationRequest latest;
+
+        private CompanyDigest(long companyId) {
+            this.companyId = companyId;
+        }
+
+        private void add(long eventId, String companyName, NotificationRequest notificationRequest) {
+            // A redelivered outbox record is one post, not two
+            eventIds.add(eventId);
+            if (companyName != null) this.companyName = companyName;
+            if (latest == null || isAfter(notificationRequest, latest)) latest = notificationRequest;
+        }
+
+        private int posts() {
+            return eventIds.size();
+        }
+
+        private UUID eventSetId() {
+            String ids = eventIds.stream().map(String::valueOf).collect(Collectors.joining(","));
+            return UUID.nameUUIDFromBytes(ids.getBytes(StandardCharsets.UTF_8));
+        }
+
+        // One post keeps its own message, several become "Company X posted N new jobs"
+        private NotificationRequest toRequest() {
+            int posts = posts();
+            if (posts == 1) return latest;
+
+            String company = companyName != null ? "Công ty " + companyName : "Một công ty bạn theo dõi";
+            String message = company + " vừa đăng " + posts + " tin tuyển dụng mới. Vào xem ngay.";
+            return new NotificationRequest(message, latest.getTitle(), latest.getLink(), latest.getCreatedAt());
+        }
+
+        private static boolean isAfter(NotificationRequest request, NotificationRequest other) {
+            return request.getCreatedAt() != null
+                    && (other.getCreatedAt() == null || request.getCreatedAt().isAfter(other.getCreatedAt()));
+        }
     }
 
+    private static class FanoutProgress {
+        private final long companyId;
+        private final Instant startedAt = Instant.now();
+        private final AtomicLong delivered = new AtomicLong();
+
+        private FanoutProgress(long companyId) {
+            this.companyId = companyId;
+        }
+    }
 }
@@ -0,0 +1,348 @@
+package com.example.Job.service.Impl;
+
+import com.example.Job.constant.OutboxEventTypeEnum;
+import com.example.Job.entity.OutboxEvent;
+import com.example.Job.models.dtos.FollowerNotificationEvent;
+import com.example.Job.models.dtos.NotificationRequest;
+import com.example.Job.repository.OutboxEventRepository;
+import com.example.Job.service.INotificationService;
+import com.example.Job.service.IOutboxService;
+import com.example.Job.service.IRedisService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import jakarta.transaction.Transactional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+// Transactional outbox: events are rows saved with the change that caused them,
+// a relay copies them to a Redis stream, a consumer group processes and acknowledges them.
+// Delivery is at-least-once: a follower fan-out resumes from its last committed chunk,
+// so a retry repeats at most one chunk.
+@Service
+public class OutboxServiceImpl implements IOutboxService {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxServiceImpl.class);
+
+    public static final String STREAM = "notification-outbox";
+    public static final String DEAD_LETTER_STREAM = "notification-outbox:dead";
+    public static final String GROUP = "notification-fanout";
+
+    private static final String FIELD_EVENT_ID = "eventId";
+    private static final String FIELD_TYPE = "type";
+    private static final String FIELD_PAYLOAD = "payload";
+
+    // Events held in memory at once, mostly waiting for their coalescing window to close
+    private static final int MAX_IN_FLIGHT = 500;
+
+    @Value("${app.outbox.relay-batch-size:100}")
+    private int relayBatchSize;
+
+    @Value("${app.outbox.read-count:10}")
+    private int readCount;
+
+    @Value("${app.outbox.read-block-ms:2000}")
+    private long readBlockMillis;
+
+    // Idle time before a pending record is retried, doubled on each delivery
+    @Value("${app.outbox.retry-backoff-ms:30000}")
+    private long retryBackoffMillis;
+
+    @Value("${app.outbox.max-deliveries:5}")
+    private int maxDeliveries;
+
+    // Streams are trimmed to about this many records; keep it far above what consumers lag behind
+    @Value("${app.outbox.stream-max-length:100000}")
+    private long streamMaxLength;
+
+    // Published rows are kept this long, then purged
+    @Value("${app.outbox.retention-hours:72}")
+    private long retentionHours;
+
+    @Value("${app.outbox.purge-batch-size:1000}")
+    private int purgeBatchSize;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final INotificationService notificationService;
+    private final IRedisService redisService;
+    private final ObjectMapper objectMapper;
+    private final Executor fanoutExecutor;
+
+    private final String consumerName = consumerName();
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+    private volatile boolean running;
+    private Thread consumerThread;
+
+    private final LongAdder published = new LongAdder();
+    private final LongAdder processed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder retried = new LongAdder();
+    private final LongAdder deadLettered = new LongAdder();
+
+    public OutboxServiceImpl(OutboxEventRepository outboxEventRepository, INotificationService notificationService, IRedisService redisService, ObjectMapper objectMapper, @Qualifier("notificationFanoutExecutor") Executor fanoutExecutor) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.notificationService = notificationService;
+        this.redisService = redisService;
+        this.objectMapper = objectMapper;
+        this.fanoutExecutor = fanoutExecutor;
+    }
+
+    @Override
+    public void enqueueFollowerNotification(long companyId, String companyName, NotificationRequest notificationRequest) {
+        OutboxEvent event = new OutboxEvent();
+        event.setType(OutboxEventTypeEnum.COMPANY_FOLLOWERS_NOTIFICATION);
+        try {
+            event.setPayload(objectMapper.writeValueAsString(new FollowerNotificationEvent(companyId, companyName, notificationRequest)));
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException(e);
+        }
+
+        outboxEventRepository.save(event);
+    }
+
+    // Copy committed events to the stream. Rows stay locked until publishedAt is committed,
+    // while Redis is down they simply wait in the table.
+    @Scheduled(fixedDelayString = "${app.outbox.relay-delay-ms:500}")
+    @Transactional
+    public void relay() {
+        List<OutboxEvent> events = outboxEventRepository.lockUnpublished(relayBatchSize);
+
+        for (OutboxEvent event : events) {
+            Map<String, String> fields = new LinkedHashMap<>();
+            fields.put(FIELD_EVENT_ID, event.getId().toString());
+            fields.put(FIELD_TYPE, event.getType().name());
+            fields.put(FIELD_PAYLOAD, event.getPayload());
+
+            // Keep the order: stop at the first failure, the rest goes with the next run
+            if (redisService.addToStream(STREAM, fields, streamMaxLength) == null) break;
+
+            event.setPublishedAt(Instant.now());
+            published.increment();
+        }
+    }
+
+    // Batches keep each delete short, the next run takes what is left
+    @Scheduled(fixedDelayString = "${app.outbox.purge-delay-ms:600000}")
+    @Transactional
+    public void purgePublished() {
+        Instant before = Instant.now().minus(Duration.ofHours(retentionHours));
+        int purged = outboxEventRepository.deletePublishedBefore(before, purgeBatchSize);
+        if (purged > 0) log.info("Purged {} published outbox events", purged);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startConsumer() {
+        redisService.createStreamGroup(STREAM, GROUP);
+
+        running = true;
+        consumerThread = new Thread(this::consume, "OutboxConsumer");
+        consumerThread.setDaemon(true);
+        consumerThread.start();
+    }
+
+    @PreDestroy
+    public void stopConsumer() {
+        running = false;
+        if (consumerThread != null) consumerThread.interrupt();
+    }
+
+    private void consume() {
+        while (running) {
+            try {
+                List<MapRecord<String, Object, Object>> records = redisService.readStreamGroup(
+                        STREAM, GROUP, consumerName, readCount, Duration.ofMillis(readBlockMillis));
+
+                if (records == null) {
+                    // Redis is down, or the group was lost with the stream: recreate it and wait a bit
+                    redisService.createStreamGroup(STREAM, GROUP);
+                    if (!pause(readBlockMillis)) return;
+                    continue;
+                }
+
+                processAll(records);
+
+                // Back-pressure: let the windows close before taking more events
+                while (running && inFlight.size() >= MAX_IN_FLIGHT) {
+                    if (!pause(100)) return;
+                }
+            } catch (RuntimeException e) {
+                // The only consumer thread of this node must survive; unacknowledged records are retried
+                log.error("Outbox consumer failed, retrying in {} ms, error: {}", readBlockMillis, e.getMessage());
+                if (!pause(readBlockMillis)) return;
+            }
+        }
+    }
+
+    // Records run in parallel and each is acknowledged once delivered, without waiting for the others:
+    // a follower notification completes only when its coalescing window closes.
+    // Failed ones stay pending for retryPending.
+    private void processAll(List<MapRecord<String, Object, Object>> records) {
+        records.forEach(record -> process(record).thenAccept(delivered -> {
+            if (delivered) redisService.acknowledgeStream(STREAM, GROUP, List.of(record.getId().getValue()));
+        }));
+    }
+
+    // Completes with true once the event is delivered, false when it failed or already runs on this node
+    private CompletableFuture<Boolean> process(MapRecord<String, Object, Object> record) {
+        String recordId = record.getId().getValue();
+        if (!inFlight.add(recordId)) return CompletableFuture.completedFuture(false);
+
+        Map<Object, Object> fields = record.getValue();
+        String eventId = String.valueOf(fields.get(FIELD_EVENT_ID));
+
+        CompletableFuture<CompletableFuture<Void>> dispatched;
+        try {
+            dispatched = CompletableFuture.supplyAsync(() -> dispatch(eventId, fields), fanoutExecutor);
+        } catch (RejectedExecutionException e) {
+            // Fan-out pool full: the record stays pending and retryPending takes it again
+            inFlight.remove(recordId);
+            log.warn("Fan-out pool is full, outbox event {} (record {}) is left pending", eventId, recordId);
+            return CompletableFuture.completedFuture(false);
+        }
+
+        return dispatched
+                .thenCompose(delivery -> delivery)
+                .handle((ignored, e) -> {
+                    inFlight.remove(recordId);
+                    if (e == null) {
+                        processed.increment();
+                        return true;
+                    }
+
+                    Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                    failed.increment();
+                    log.error("Failed to process outbox event {} (record {}), error: {}", eventId, recordId, cause.getMessage());
+                    return false;
+                });
+    }
+
+    private CompletableFuture<Void> dispatch(String eventId, Map<Object, Object> fields) {
+        OutboxEventTypeEnum type = OutboxEventTypeEnum.valueOf(String.valueOf(fields.get(FIELD_TYPE)));
+        return switch (type) {
+            case COMPANY_FOLLOWERS_NOTIFICATION -> notifyFollowers(Long.parseLong(eventId), String.valueOf(fields.get(FIELD_PAYLOAD)));
+        };
+    }
+
+    private CompletableFuture<Void> notifyFollowers(long eventId, String payload) {
+        FollowerNotificationEvent event;
+        try {
+            event = objectMapper.readValue(payload, FollowerNotificationEvent.class);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException(e);
+        }
+
+        return notificationService.notifyCompanyFollowersCoalesced(eventId, event.getCompanyId(), event.getCompanyName(), event.getNotification());
+    }
+
+    // Records left pending by a failure or a dead consumer: retried with exponential backoff,
+    // moved to the dead-letter stream after maxDeliveries
+    @Scheduled(fixedDelayString = "${app.outbox.retry-delay-ms:10000}")
+    public void retryPending() {
+        if (!running) return;
+
+        PendingMessages pending = redisService.pendingStream(STREAM, GROUP, 100);
+        if (pending == null || pending.isEmpty()) return;
+
+        List<String> toRetry = new ArrayList<>();
+        List<String> toDeadLetter = new ArrayList<>();
+        long minIdleMillis = Long.MAX_VALUE;
+
+        for (PendingMessage message : pending) {
+            String recordId = message.getIdAsString();
+            if (inFlight.contains(recordId)) continue;
+
+            long deliveries = message.getTotalDeliveryCount();
+            long backoffMillis = retryBackoffMillis << Math.min(deliveries - 1, 16);
+            if (message.getElapsedTimeSinceLastDelivery().toMillis() < backoffMillis) continue;
+
+            if (deliveries >= maxDeliveries) toDeadLetter.add(recordId);
+            else toRetry.add(recordId);
+            minIdleMillis = Math.min(minIdleMillis, backoffMillis);
+        }
+        if (toRetry.isEmpty() && toDeadLetter.isEmpty()) return;
+
+        // The min idle check makes XCLAIM skip records another node claimed meanwhile
+        Duration minIdle = Duration.ofMillis(minIdleMillis);
+
+        List<MapRecord<String, Object, Object>> deadRecords = redisService.claimStream(STREAM, GROUP, consumerName, minIdle, toDeadLetter);
+        List<String> deadIds = new ArrayList<>();
+        for (MapRecord<String, Object, Object> record : deadRecords) {
+            Map<String, String> fields = new LinkedHashMap<>();
+            record.getValue().forEach((field, value) -> fields.put(String.valueOf(field), String.valueOf(value)));
+            fields.put("recordId", record.getId().getValue());
+
+            if (redisService.addToStream(DEAD_LETTER_STREAM, fields, streamMaxLength) != null) {
+                deadIds.add(record.getId().getValue());
+                log.error("Outbox event {} moved to {} after {} deliveries", fields.get(FIELD_EVENT_ID), DEAD_LETTER_STREAM, maxDeliveries);
+            }
+        }
+        deadLettered.add(redisService.acknowledgeStream(STREAM, GROUP, deadIds));
+
+        List<MapRecord<String, Object, Object>> retryRecords = redisService.claimStream(STREAM, GROUP, consumerName, minIdle, toRetry);
+        if (retryRecords.isEmpty()) return;
+
+        retried.add(retryRecords.size());
+        // Not awaited: a fan-out can take a while, and the scheduler thread also runs the relay
+        processAll(retryRecords);
+    }
+
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("unpublished", outboxEventRepository.countByPublishedAtIsNull());
+        stats.put("published", published.sum());
+        stats.put("processed", processed.sum());
+        stats.put("failed", failed.sum());
+        stats.put("retried", retried.sum());
+        stats.put("deadLettered", deadLettered.sum());
+        stats.put("inFlight", inFlight.size());
+        stats.put("consumer", consumerName);
+        return stats;
+    }
+
+    private static boolean pause(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    // Unique per process, so a restarted node does not inherit the pending records of its previous run
+    private static String consumerName() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "unknown";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
@@ -1,40 +1,142 @@
 package com.example.Job.service.Impl;
 
 import com.example.Job.config.RedisConfig;
+import com.example.Job.config.RedisTrackingNearCache;
 import com.example.Job.service.IRedisService;
 import com.example.Job.utils.ClassUtil;
+import com.example.Job.utils.LocalCache;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
 import jakarta.transaction.Transactional;
-import org.eclipse.angus.mail.imap.protocol.BODY;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.RedisStreamCommands;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
 public class RedisServiceImpl implements IRedisService {
     private static final Logger log = LoggerFactory.getLogger(RedisServiceImpl.class);
+
+    // Keys fetched per SCAN call, a hint for Redis
+    private static final long SCAN_COUNT = 1000;
+
+    // Compare-and-delete, so a lease that expired and was taken by another owner is not released
+    private static final RedisScript<Long> UNLOCK_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private static final RedisScript<Long> INCREMENT_IF_EXISTS_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('exists', KEYS[1]) == 0 then return nil end " +
+            "local value = redis.call('incrby', KEYS[1], ARGV[1]) " +
+            "if value < 0 then redis.call('set', KEYS[1], 0, 'KEEPTTL') return 0 end " +
+            "return value",
+            Long.class);
+
+    // Circuit breaker instance configured under resilience4j.circuitbreaker.instances
+    private static final String CIRCUIT_BREAKER = "redis";
+
+    // Near cache: only read while Redis is failing or the breaker is open
+    private static final Duration NEAR_CACHE_TTL = Duration.ofMinutes(5);
+
+    // Writes that can be rolled back with the surrounding @Transactional
     private final RedisTemplate<String, Object> redisTemplate;
+    // Reads, pipelines and pub/sub: never queued in MULTI, shared native connection
+    private final RedisTemplate<String, Object> cacheRedisTemplate;
     private final ObjectMapper objectMapper;
-
-    public RedisServiceImpl(RedisTemplate<String, Object> redisTemplate, ObjectMapper objectMapper) {
+    private final RedisMessageListenerContainer listenerContainer;
+
+    // Open after too many failed or slow calls: calls then fail at once instead of waiting
+    // for the command timeout, until a few trial calls succeed again
+    private final CircuitBreaker circuitBreaker;
+
+    // Last values read or written per key, bounded. Kept serialized: cached DTOs are mutable
+    // (isSaved is set per user), so each caller must get its own copy.
+    private final LocalCache<String, byte[]> nearCache;
+    private final RedisSerializer<Object> valueSerializer;
+
+    // Reads whose caller has other work to do meanwhile, completed on the Lettuce I/O thread
+    private final ReactiveRedisTemplate<String, Object> reactiveRedisTemplate;
+
+    // Served before Redis for tracked key prefixes, invalidated by Redis itself
+    private final RedisTrackingNearCache trackingNearCache;
+
+    private final LongAdder fallbacks = new LongAdder();
+    private final LongAdder nearCacheHits = new LongAdder();
+
+    public RedisServiceImpl(@Qualifier("redisTemplate") RedisTemplate<String, Object> redisTemplate,
+                            @Qualifier(RedisConfig.CACHE_TEMPLATE) RedisTemplate<String, Object> cacheRedisTemplate,
+                            @Qualifier(RedisConfig.REACTIVE_TEMPLATE) ReactiveRedisTemplate<String, Object> reactiveRedisTemplate,
+                            ObjectMapper objectMapper, RedisMessageListenerContainer listenerContainer,
+                            CircuitBreakerRegistry circuitBreakerRegistry,
+                            @Value("${app.redis.near-cache-size:5000}") int nearCacheSize,
+                            RedisTrackingNearCache trackingNearCache,
+                            RedisSerializer<Object> redisValueSerializer) {
         this.redisTemplate = redisTemplate;
+        this.cacheRedisTemplate = cacheRedisTemplate;
+        this.reactiveRedisTemplate = reactiveRedisTemplate;
         this.objectMapper = objectMapper;
+        this.listenerContainer = listenerContainer;
+        this.nearCache = new LocalCache<>(nearCacheSize, NEAR_CACHE_TTL);
+        this.trackingNearCache = trackingNearCache;
+        this.valueSerializer = redisValueSerializer;
+
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(CIRCUIT_BREAKER);
+        this.circuitBreaker.getEventPublisher().onStateTransition(event ->
+                log.warn("Redis circuit breaker: {}", event.getStateTransition()));
     }
 
     @Override
     public <T> void set(String key, T value, Long timeout, TimeUnit unit) {
+        putNear(key, value);
+        trackingNearCache.invalidate(key);
+
         try{
-            redisTemplate.opsForValue().set(key, value, timeout, unit);
+            run(() -> redisTemplate.opsForValue().set(key, value, timeout, unit));
         } catch (Exception e) {
-            log.warn("Failed to set value in Redis for key: {}, error: {}", key, e.getMessage());
+            logFailure("Failed to set value in Redis for key: {}, error: {}", key, e);
             // Don't rethrow exception - just log and continue
         }
 
@@ -44,10 +146,13 @@ public class RedisServiceImpl implements IRedisService {
     @Override
     public <T> void set(String key, T value) {
 
+        putNear(key, value);
+        trackingNearCache.invalidate(key);
+
         try{
-            redisTemplate.opsForValue().set(key, value, RedisConfig.defaultTTL);
+            run(() -> redisTemplate.opsForValue().set(key, value, RedisConfig.defaultTTL));
         } catch (Exception e) {
-            log.warn("Failed to set value in Redis for key: {}, error: {}", key, e.getMessage());
+            logFailure("Failed to set value in Redis for key: {}, error: {}", key, e);
             // Don't rethrow exception - just log and continue
         }
 
@@ -57,61 +162,202 @@ public class RedisServiceImpl implements IRedisService {
     public <T> void set(String key, T value, Duration duration) {
 
 
+        putNear(key, value);
+        trackingNearCache.invalidate(key);
+
         try{
-            redisTemplate.opsForValue().set(key, value, duration);
+            run(() -> redisTemplate.opsForValue().set(key, value, duration));
         } catch (Exception e) {
-            log.warn("Failed to set value in Redis for key: {}, error: {}", key, e.getMessage());
+            logFailure("Failed to set value in Redis for key: {}, error: {}", key, e);
             // Don't rethrow exception - just log and continue
         }
     }
 
     @Override
     public <T> T get(String key, Class<T> clazz) {
+        boolean tracked = trackingNearCache.covers(key);
+        if(tracked){
+            T local = copyOf(trackingNearCache.get(key), clazz);
+            if(local != null) return local;
+        }
+        long readEpoch = trackingNearCache.epoch();
+
         try {
-            Object value = redisTemplate.opsForValue().get(key);
-            if(value == null) return null;
+            byte[] bytes = call(() -> cacheRedisTemplate.execute((RedisCallback<byte[]>) connection ->
+                    connection.stringCommands().get(key.getBytes(StandardCharsets.UTF_8))));
+            if(bytes == null) return null;
 
-            return clazz.cast(value);
+            return decodeAndKeep(key, bytes, clazz, tracked, readEpoch);
 
         } catch (Exception e) {
-            log.warn("Failed to get value from Redis for key: {}, error: {}", key, e.getMessage());
-            return null;
+            logFailure("Failed to get value from Redis for key: {}, error: {}", key, e);
+            return fromNearCache(key, clazz);
+        }
+
+
+    }
+
+    @Override
+    public <T> ValueWithExpiry<T> getWithExpiry(String key, Class<T> clazz) {
+        boolean tracked = trackingNearCache.covers(key);
+        if(tracked){
+            T local = copyOf(trackingNearCache.get(key), clazz);
+            if(local != null) return new ValueWithExpiry<>(local, -1);
         }
+        long readEpoch = trackingNearCache.epoch();
 
+        try {
+            // The value comes back as raw bytes, the TTL as a number
+            List<Object> replies = call(() -> cacheRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                byte[] rawKey = key.getBytes(StandardCharsets.UTF_8);
+                connection.stringCommands().get(rawKey);
+                connection.keyCommands().pTtl(rawKey);
+                // executePipelined requires null, the replies are collected by the template
+                return null;
+            }, RedisSerializer.byteArray()));
+            if(replies == null || replies.size() != 2) return new ValueWithExpiry<>(fromNearCache(key, clazz), -1);
+
+            long remainingMillis = replies.get(1) instanceof Long ttlMillis ? ttlMillis : -1;
+            if(!(replies.get(0) instanceof byte[] bytes)) return new ValueWithExpiry<>(null, remainingMillis);
 
+            return new ValueWithExpiry<>(decodeAndKeep(key, bytes, clazz, tracked, readEpoch), remainingMillis);
+
+        } catch (Exception e) {
+            // Redis failing or its circuit breaker open
+            logFailure("Failed to get value from Redis for key: {}, error: {}", key, e);
+            return new ValueWithExpiry<>(fromNearCache(key, clazz), -1);
+        }
+    }
+
+    @Override
+    public <T> List<T> multiGet(List<String> keys, Class<T> clazz) {
+        if(keys == null || keys.isEmpty()) return List.of();
+
+        try {
+            List<Object> values = call(() -> cacheRedisTemplate.opsForValue().multiGet(keys));
+            if(values == null) return null;
+
+            return values.stream()
+                    .map(value -> clazz.isInstance(value) ? clazz.cast(value) : null)
+                    .collect(Collectors.toList());
+
+        } catch (Exception e) {
+            logFailure("Failed to get values from Redis for keys: {}, error: {}", keys, e);
+            return keys.stream().map(key -> fromNearCache(key, clazz)).collect(Collectors.toList());
+        }
+    }
+
+    @Override
+    public <T> void multiSet(Map<String, T> values, Duration duration) {
+        if(values == null || values.isEmpty()) return;
+
+        values.forEach(this::putNear);
+        values.keySet().forEach(trackingNearCache::invalidate);
+
+        // MSET has no TTL, so pipeline one SET ... EX per key instead
+        executePipelined(operations -> values.forEach((key, value) ->
+                operations.opsForValue().set(key, value, duration)));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Object> executePipelined(Consumer<RedisOperations<String, Object>> commands) {
+        try {
+            return call(() -> cacheRedisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                public <K, V> Object execute(RedisOperations<K, V> operations) {
+                    commands.accept((RedisOperations<String, Object>) operations);
+                    // executePipelined requires null, the replies are collected by the template
+                    return null;
+                }
+            }));
+        } catch (Exception e) {
+            logFailure("Failed to execute Redis {}, error: {}", "pipeline", e);
+            return null;
+        }
     }
 
     @Override
     public boolean delete(String key) {
-        return Boolean.TRUE.equals(redisTemplate.delete(key));
+        nearCache.invalidate(key);
+        trackingNearCache.invalidate(key);
+
+        try {
+            return Boolean.TRUE.equals(call(() -> redisTemplate.delete(key)));
+        } catch (Exception e) {
+            logFailure("Failed to delete key from Redis: {}, error: {}", key, e);
+            return false;
+        }
+    }
+
+    @Override
+    public long delete(Collection<String> keys) {
+        if(keys == null || keys.isEmpty()) return 0;
+
+        keys.forEach(nearCache::invalidate);
+        keys.forEach(trackingNearCache::invalidate);
+
+        try {
+            Long deleted = call(() -> redisTemplate.delete(keys));
+            return deleted != null ? deleted : 0;
+        } catch (Exception e) {
+            logFailure("Failed to delete keys from Redis: {}, error: {}", keys, e);
+            return 0;
+        }
     }
 
     @Override
     public Set<String> listKeys(String pattern) {
-        return Set.of();
+        ScanOptions options = ScanOptions.scanOptions().match(pattern).count(SCAN_COUNT).build();
+
+        try {
+            return call(() -> {
+                Set<String> keys = new HashSet<>();
+                try (Cursor<String> cursor = cacheRedisTemplate.scan(options)) {
+                    cursor.forEachRemaining(keys::add);
+                }
+                return keys;
+            });
+        } catch (Exception e) {
+            logFailure("Failed to scan Redis keys for pattern: {}, error: {}", pattern, e);
+            return Set.of();
+        }
     }
 
     @Override
     public void addToList(String key, String value) {
-
+        try {
+            run(() -> redisTemplate.opsForList().rightPush(key, value));
+        } catch (Exception e) {
+            logFailure("Failed to add value to Redis list for key: {}, error: {}", key, e);
+        }
     }
 
     @Override
     public List<String> getList(String key) {
-        return List.of();
+        try {
+            List<Object> values = call(() -> cacheRedisTemplate.opsForList().range(key, 0, -1));
+            if(values == null) return List.of();
+
+            return values.stream().map(String::valueOf).collect(Collectors.toList());
+        } catch (Exception e) {
+            logFailure("Failed to get Redis list for key: {}, error: {}", key, e);
+            return List.of();
+        }
     }
 
     @Override
     public <T> boolean addToSet(String key, T value, boolean isRollBack) {
         try{
-            redisTemplate.opsForSet().add(key, value);
+            trackingNearCache.invalidate(key);
+            run(() -> redisTemplate.opsForSet().add(key, value));
             return true;
         } catch (Exception e) {
             if(isRollBack){
                 throw new RuntimeException(e);
             }
 
-            log.warn("Failed to add value to Redis for key: {}, error: {}", key, e.getMessage());
+            logFailure("Failed to add value to Redis for key: {}, error: {}", key, e);
             return false;
         }
     }
@@ -120,7 +366,7 @@ public class RedisServiceImpl implements IRedisService {
     @Override
     public <T> Set<T> getSet(String key, Class<T> clazz) {
         try{
-            Set<Object> members = redisTemplate.opsForSet().members(key);
+            Set<Object> members = call(() -> cacheRedisTemplate.opsForSet().members(key));
             if(members == null ) return null;
             else if (members.isEmpty()) return Set.of();
 
@@ -133,51 +379,414 @@ public class RedisServiceImpl implements IRedisService {
 
 
         } catch (Exception e) {
-            log.warn("Failed to get value from Redis for key: {}, error: {}", key, e.getMessage());
+            logFailure("Failed to get value from Redis for key: {}, error: {}", key, e);
+            return null;
+        }
+    }
+
+    @Override
+    public <T> Set<T> getSortedSet(String key, Class<T> clazz) {
+        try{
+            Set<Object> members = call(() -> cacheRedisTemplate.opsForZSet().range(key, 0, -1));
+            if(members == null ) return null;
+
+            // LinkedHashSet keeps the score order
+            return members.stream()
+                    .map(member -> ClassUtil.isSimpleType(clazz) ? clazz.cast(member) : objectMapper.convertValue(member, clazz))
+                    .collect(Collectors.toCollection(LinkedHashSet::new));
+        } catch (Exception e) {
+            logFailure("Failed to get value from Redis for key: {}, error: {}", key, e);
             return null;
         }
     }
 
     @Override
     public <T> Boolean isMemberOfSet(String key, T value) {
+        boolean tracked = trackingNearCache.covers(key);
+        if(tracked){
+            Boolean local = trackingNearCache.isMember(key, value);
+            if(local != null) return local;
+        }
+        long readEpoch = trackingNearCache.epoch();
+
+        try{
+            boolean isMember = Boolean.TRUE.equals(call(() -> cacheRedisTemplate.opsForSet().isMember(key, value)));
+            if(tracked) trackingNearCache.putMembers(key, Map.of(value, isMember), readEpoch);
+            return isMember;
+        } catch (Exception e) {
+
+            logFailure("Failed to check value from Redis for key: {}, error: {}", key, e);
+            return null;
+        }
+    }
+
+    @Override
+    public <T> boolean addAllToSet(String key, Collection<T> values, Duration duration) {
+        if(values == null || values.isEmpty()) return true;
+
+        trackingNearCache.invalidate(key);
+        // SADD and EXPIRE in one round trip
+        List<Object> replies = executePipelined(operations -> {
+            operations.opsForSet().add(key, values.toArray());
+            operations.expire(key, duration);
+        });
+        return replies != null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> Map<T, Boolean> areMembersOfSet(String key, Collection<T> values) {
+        if(values == null || values.isEmpty()) return Map.of();
+
+        boolean tracked = trackingNearCache.covers(key);
+        Map<T, Boolean> local = tracked ? trackedMembers(key, values) : null;
+        if(local != null) return local;
+        long readEpoch = trackingNearCache.epoch();
+
         try{
-            return Boolean.TRUE.equals(redisTemplate.opsForSet().isMember(key, value));
+            // SMISMEMBER: one round trip for all values
+            Map<Object, Boolean> membership = call(() -> cacheRedisTemplate.opsForSet().isMember(key, values.toArray()));
+            return toMembers(key, membership, tracked, readEpoch);
         } catch (Exception e) {
 
-            log.warn("Failed to check value from Redis for key: {}, error: {}", key, e.getMessage());
+            logFailure("Failed to check values from Redis for key: {}, error: {}", key, e);
             return null;
         }
     }
 
+    @Override
+    public <T> CompletableFuture<Map<T, Boolean>> areMembersOfSetAsync(String key, Collection<T> values) {
+        if(values == null || values.isEmpty()) return CompletableFuture.completedFuture(Map.of());
+
+        boolean tracked = trackingNearCache.covers(key);
+        Map<T, Boolean> local = tracked ? trackedMembers(key, values) : null;
+        if(local != null) return CompletableFuture.completedFuture(local);
+        long readEpoch = trackingNearCache.epoch();
+
+        // The breaker sees the outcome of the reply, and fails fast while open like the blocking calls
+        return circuitBreaker.executeCompletionStage(() -> reactiveRedisTemplate.opsForSet().isMember(key, values.toArray()).toFuture())
+                .toCompletableFuture()
+                .thenApply(membership -> this.<T>toMembers(key, membership, tracked, readEpoch))
+                .exceptionally(e -> {
+                    Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                    logFailure("Failed to check values from Redis for key: {}, error: {}", key,
+                            cause instanceof Exception exception ? exception : new RuntimeException(cause));
+                    return null;
+                });
+    }
+
+    // null unless the tracking near cache knows every value
+    private <T> Map<T, Boolean> trackedMembers(String key, Collection<T> values) {
+        Map<T, Boolean> local = new LinkedHashMap<>(values.size());
+        for (T value : values) {
+            Boolean isMember = trackingNearCache.isMember(key, value);
+            if(isMember == null) return null;
+            local.put(value, isMember);
+        }
+        return local;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Map<T, Boolean> toMembers(String key, Map<Object, Boolean> membership, boolean tracked, long readEpoch) {
+        if(membership == null) return null;
+
+        Map<T, Boolean> result = new LinkedHashMap<>(membership.size());
+        membership.forEach((member, isMember) -> result.put((T) member, Boolean.TRUE.equals(isMember)));
+        if(tracked) trackingNearCache.putMembers(key, result, readEpoch);
+        return result;
+    }
+
     @Override
     public <T> Boolean removeFromSet(String key, T value, boolean isRollBack) {
         try{
-            redisTemplate.opsForSet().remove(key, value);
+            trackingNearCache.invalidate(key);
+            run(() -> redisTemplate.opsForSet().remove(key, value));
             return true;
         } catch (Exception e) {
             if(isRollBack){
                 throw new RuntimeException(e);
             }
 
-            log.warn("Failed to remove value from Redis for key: {}, error: {}", key, e.getMessage());
+            logFailure("Failed to remove value from Redis for key: {}, error: {}", key, e);
             return false;
         }
     }
 
 
     @Override
-    public void setExpiration(String key, long timeout, TimeUnit unit) {
-        redisTemplate.expire(key, timeout, unit);
+    public Boolean tryLock(String key, String token, Duration lease) {
+        try {
+            return Boolean.TRUE.equals(call(() -> cacheRedisTemplate.opsForValue().setIfAbsent(key, token, lease)));
+        } catch (Exception e) {
+            logFailure("Failed to acquire Redis lease for key: {}, error: {}", key, e);
+            return null;
+        }
+    }
+
+    @Override
+    public boolean initCounter(String key, long value, Duration duration) {
+        try {
+            return Boolean.TRUE.equals(call(() -> cacheRedisTemplate.opsForValue().setIfAbsent(key, value, duration)));
+        } catch (Exception e) {
+            logFailure("Failed to init Redis counter for key: {}, error: {}", key, e);
+            return false;
+        }
+    }
+
+    @Override
+    public Long getCounter(String key) {
+        try {
+            // Small numbers come back as Integer from the JSON codec; not kept in the near cache, a stale count is worse than a recount
+            Object value = call(() -> cacheRedisTemplate.opsForValue().get(key));
+            return value instanceof Number number ? number.longValue() : null;
+        } catch (Exception e) {
+            logFailure("Failed to get Redis counter for key: {}, error: {}", key, e);
+            return null;
+        }
+    }
+
+    @Override
+    public Long incrementCounter(String key, long delta) {
+        try {
+            return call(() -> cacheRedisTemplate.execute(INCREMENT_IF_EXISTS_SCRIPT, List.of(key), delta));
+        } catch (Exception e) {
+            logFailure("Failed to increment Redis counter for key: {}, error: {}", key, e);
+            return null;
+        }
+    }
+
+    @Override
+    public void incrementCounters(Collection<String> keys, long delta) {
+        if(keys == null || keys.isEmpty()) return;
 
+        // Raw EVAL on the pipelined connection: EVALSHA with its NOSCRIPT retry does not fit in a pipeline
+        byte[] script = INCREMENT_IF_EXISTS_SCRIPT.getScriptAsString().getBytes(StandardCharsets.UTF_8);
+        byte[] deltaBytes = String.valueOf(delta).getBytes(StandardCharsets.UTF_8);
+
+        executePipelined(operations -> operations.execute((RedisCallback<Object>) connection -> {
+            keys.forEach(key -> connection.scriptingCommands().eval(
+                    script, ReturnType.INTEGER, 1, key.getBytes(StandardCharsets.UTF_8), deltaBytes));
+            return null;
+        }));
+    }
+
+    @Override
+    public void unlock(String key, String token) {
+        try {
+            // The token goes through the value serializer, like in tryLock, so the bytes compare equal
+            run(() -> cacheRedisTemplate.execute(UNLOCK_SCRIPT, List.of(key), token));
+        } catch (Exception e) {
+            logFailure("Failed to release Redis lease for key: {}, error: {}", key, e);
+        }
+    }
+
+    @Override
+    public void setExpiration(String key, long timeout, TimeUnit unit) {
+        try {
+            run(() -> redisTemplate.expire(key, timeout, unit));
+        } catch (Exception e) {
+            logFailure("Failed to set expiration in Redis for key: {}, error: {}", key, e);
+        }
     }
 
     @Override
     public void setExpiration(String key, Duration duration) {
-        redisTemplate.expire(key, duration);
+        try {
+            run(() -> redisTemplate.expire(key, duration));
+        } catch (Exception e) {
+            logFailure("Failed to set expiration in Redis for key: {}, error: {}", key, e);
+        }
     }
 
     @Override
     public boolean exists(String key) {
-        return Boolean.TRUE.equals(redisTemplate.hasKey(key));
+        try {
+            return Boolean.TRUE.equals(call(() -> cacheRedisTemplate.hasKey(key)));
+        } catch (Exception e) {
+            logFailure("Failed to check key in Redis: {}, error: {}", key, e);
+            return false;
+        }
+    }
+
+    @Override
+    public <T> void publish(String channel, T message) {
+        try {
+            run(() -> cacheRedisTemplate.convertAndSend(channel, message));
+        } catch (Exception e) {
+            logFailure("Failed to publish to Redis channel: {}, error: {}", channel, e);
+        }
+    }
+
+    @Override
+    public <T> void subscribe(String channel, Class<T> clazz, Consumer<T> handler) {
+        listenerContainer.addMessageListener((message, pattern) -> {
+            try {
+                // Same serializer as publish(), the template's value serializer
+                Object value = cacheRedisTemplate.getValueSerializer().deserialize(message.getBody());
+                if (clazz.isInstance(value)) {
+                    handler.accept(clazz.cast(value));
+                }
+            } catch (Exception e) {
+                log.warn("Failed to handle message of Redis channel: {}, error: {}", channel, e.getMessage());
+            }
+        }, new ChannelTopic(channel));
+    }
+
+    // Stream calls skip the circuit breaker: a blocking XREADGROUP is slow on purpose,
+    // and the outbox already retries from the database and the pending list
+
+    @Override
+    public String addToStream(String stream, Map<String, String> fields, long maxLength) {
+        try {
+            // Approximate trimming drops whole macro nodes, much cheaper than an exact MAXLEN
+            RecordId recordId = cacheRedisTemplate.opsForStream().add(StreamRecords.mapBacked(fields).withStreamKey(stream),
+                    RedisStreamCommands.XAddOptions.maxlen(maxLength).approximateTrimming(true));
+            return recordId != null ? recordId.getValue() : null;
+        } catch (Exception e) {
+            log.warn("Failed to add record to Redis stream: {}, error: {}", stream, e.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    public void createStreamGroup(String stream, String group) {
+        try {
+            cacheRedisTemplate.opsForStream().createGroup(stream, ReadOffset.from("0"), group);
+        } catch (Exception e) {
+            // BUSYGROUP: created by another node or a previous run
+            log.debug("Redis stream group {} of {} not created, error: {}", group, stream, e.getMessage());
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<MapRecord<String, Object, Object>> readStreamGroup(String stream, String group, String consumer, int count, Duration block) {
+        try {
+            return cacheRedisTemplate.opsForStream().read(
+                    org.springframework.data.redis.connection.stream.Consumer.from(group, consumer),
+                    StreamReadOptions.empty().count(count).block(block),
+                    StreamOffset.create(stream, ReadOffset.lastConsumed()));
+        } catch (Exception e) {
+            log.warn("Failed to read Redis stream: {}, error: {}", stream, e.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    public long acknowledgeStream(String stream, String group, List<String> recordIds) {
+        if(recordIds == null || recordIds.isEmpty()) return 0;
+
+        try {
+            Long acknowledged = cacheRedisTemplate.opsForStream().acknowledge(stream, group, recordIds.toArray(new String[0]));
+            return acknowledged != null ? acknowledged : 0;
+        } catch (Exception e) {
+            log.warn("Failed to acknowledge Redis stream: {} records: {}, error: {}", stream, recordIds, e.getMessage());
+            return 0;
+        }
+    }
+
+    @Override
+    public PendingMessages pendingStream(String stream, String group, int count) {
+        try {
+            return cacheRedisTemplate.opsForStream().pending(stream, group, Range.unbounded(), count);
+        } catch (Exception e) {
+            log.warn("Failed to list pending records of Redis stream: {}, error: {}", stream, e.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    public List<MapRecord<String, Object, Object>> claimStream(String stream, String group, String consumer, Duration minIdle, List<String> recordIds) {
+        if(recordIds == null || recordIds.isEmpty()) return List.of();
+
+        try {
+            RecordId[] ids = recordIds.stream().map(RecordId::of).toArray(RecordId[]::new);
+            return cacheRedisTemplate.opsForStream().claim(stream, group, consumer, minIdle, ids);
+        } catch (Exception e) {
+            log.warn("Failed to claim records of Redis stream: {}, error: {}", stream, e.getMessage());
+            return List.of();
+        }
+    }
+
+    @Override
+    public Map<String, Object> getStats() {
+        CircuitBreaker.Metrics metrics = circuitBreaker.getMetrics();
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("state", circuitBreaker.getState().name());
+        stats.put("failureRate", metrics.getFailureRate());
+        stats.put("slowCallRate", metrics.getSlowCallRate());
+        stats.put("failedCalls", metrics.getNumberOfFailedCalls());
+        stats.put("notPermittedCalls", metrics.getNumberOfNotPermittedCalls());
+        stats.put("fallbacks", fallbacks.sum());
+        stats.put("nearCacheHits", nearCacheHits.sum());
+        stats.put("nearCacheSize", nearCache.size());
+        stats.put("tracking", trackingNearCache.getStats());
+        return stats;
+    }
+
+    private <T> T call(Supplier<T> redisCall) {
+        return circuitBreaker.executeSupplier(redisCall);
+    }
+
+    private void run(Runnable redisCall) {
+        circuitBreaker.executeRunnable(redisCall);
+    }
+
+    private boolean isOpen() {
+        CircuitBreaker.State state = circuitBreaker.getState();
+        return state == CircuitBreaker.State.OPEN || state == CircuitBreaker.State.FORCED_OPEN;
+    }
+
+    private <T> T fromNearCache(String key, Class<T> clazz) {
+        T value = copyOf(nearCache.get(key), clazz);
+        if(value != null) nearCacheHits.increment();
+        return value;
+    }
+
+    // Snapshot of the value as it is now, later changes by the caller do not reach the near cache
+    private byte[] putNear(String key, Object value) {
+        if(value == null) return null;
+
+        try {
+            byte[] bytes = valueSerializer.serialize(value);
+            nearCache.put(key, bytes);
+            return bytes;
+        } catch (Exception e) {
+            // Not cached locally, Redis still has it
+            nearCache.invalidate(key);
+            log.debug("Failed to copy value into the near cache for key: {}, error: {}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    // A new object on every call
+    // Decode the bytes read from Redis once for the caller, and keep them as they are in the near caches
+    // instead of encoding the decoded value again
+    private <T> T decodeAndKeep(String key, byte[] bytes, Class<T> clazz, boolean tracked, long readEpoch) {
+        T value = copyOf(bytes, clazz);
+        if(value == null) return null;
+
+        nearCache.put(key, bytes);
+        if(tracked) trackingNearCache.put(key, bytes, readEpoch);
+        return value;
+    }
+
+    private <T> T copyOf(byte[] bytes, Class<T> clazz) {
+        if(bytes == null) return null;
+
+        Object value = valueSerializer.deserialize(bytes);
+        return clazz.isInstance(value) ? clazz.cast(value) : null;
+    }
+
+    private void logFailure(String message, Object target, Exception e) {
+        fallbacks.increment();
+
+        // Breaker open: expected, the state transition was logged once already
+        if(e instanceof CallNotPermittedException){
+            log.debug(message, target, e.getMessage());
+            return;
+        }
+        log.warn(message, target, e.getMessage());
     }
 }
@@ -0,0 +1,135 @@
+package com.example.Job.service.Impl;
+
+import com.example.Job.config.RedisConfig;
+import com.example.Job.constant.JobStatusEnum;
+import com.example.Job.entity.Job;
+import com.example.Job.repository.JobRepository;
+import com.example.Job.search.RelatedJobIndex;
+import com.example.Job.search.SwappableIndex;
+import com.example.Job.service.IRedisService;
+import com.example.Job.service.IRelatedJobService;
+import com.example.Job.utils.TextUtil;
+import com.example.Job.utils.TransactionUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+@Service
+public class RelatedJobServiceImpl implements IRelatedJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(RelatedJobServiceImpl.class);
+
+    private static final int REBUILD_BATCH_SIZE = 500;
+
+    private final JobRepository jobRepository;
+
+    // Replaced as a whole on rebuild, so lookups never see a half built index
+    private final SwappableIndex<RelatedJobIndex> index = new SwappableIndex<>(new RelatedJobIndex());
+
+    public RelatedJobServiceImpl(JobRepository jobRepository, IRedisService redisService) {
+        this.jobRepository = jobRepository;
+
+        // Jobs changed on other nodes
+        redisService.subscribe(RedisConfig.JOB_CHANGED_CHANNEL, String.class, this::onJobChanged);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        rebuild();
+    }
+
+    @Override
+    public List<Long> getRelatedJobIds(long jobId, int limit) {
+        return index.get().relatedTo(jobId, Math.max(1, Math.min(limit, RelatedJobIndex.MAX_RELATED)));
+    }
+
+    @Override
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+
+        RelatedJobIndex newIndex = index.rebuild(() -> {
+            RelatedJobIndex built = new RelatedJobIndex();
+
+            Page<Job> batch;
+            int page = 0;
+            do {
+                batch = jobRepository.findByJobStatus(JobStatusEnum.ACTIVE,
+                        PageRequest.of(page++, REBUILD_BATCH_SIZE, Sort.by("id")));
+                batch.forEach(job -> built.add(job.getId(), tokens(job)));
+            } while (batch.hasNext());
+            return built;
+        });
+
+        log.info("Built related job index: {} jobs in {} ms", newIndex.size(), System.currentTimeMillis() - start);
+    }
+
+    @Override
+    public void onJobCreated(Job job) {
+        if (job.getJobStatus() != JobStatusEnum.ACTIVE) return;
+
+        Set<String> tokens = tokens(job);
+        afterCommit(() -> index.apply(currentIndex -> currentIndex.add(job.getId(), tokens)));
+    }
+
+    @Override
+    public void onJobStatusChanged(long jobId, JobStatusEnum jobStatus) {
+        afterCommit(() -> {
+            if (jobStatus == JobStatusEnum.ACTIVE) {
+                // The status update is a bulk query, read the committed row back
+                jobRepository.findById(jobId).ifPresent(job -> {
+                    Set<String> tokens = tokens(job);
+                    index.apply(currentIndex -> currentIndex.add(jobId, tokens));
+                });
+            } else {
+                index.apply(currentIndex -> currentIndex.remove(jobId));
+            }
+        });
+    }
+
+    // This node's own changes come back too, re-reading the committed row makes that harmless
+    private void onJobChanged(String message) {
+        long jobId = Long.parseLong(message);
+        Set<String> tokens = jobRepository.findById(jobId)
+                .filter(job -> job.getJobStatus() == JobStatusEnum.ACTIVE)
+                .map(RelatedJobServiceImpl::tokens)
+                .orElse(null);
+
+        index.apply(currentIndex -> {
+            if (tokens != null) currentIndex.add(jobId, tokens);
+            else currentIndex.remove(jobId);
+        });
+    }
+
+    // Title words plus whole skills: "Java Developer" with [Spring Boot] -> java, developer, skill:spring boot
+    private static Set<String> tokens(Job job) {
+        Set<String> tokens = new LinkedHashSet<>(TextUtil.tokenize(job.getName()));
+
+        if (job.getSkills() != null) {
+            job.getSkills().stream()
+                    .map(TextUtil::normalize)
+                    .filter(skill -> !skill.isEmpty())
+                    .forEach(skill -> tokens.add("skill:" + skill));
+        }
+        return tokens;
+    }
+
+    private void afterCommit(Runnable action) {
+        TransactionUtil.afterCommit(() -> {
+            try {
+                action.run();
+            } catch (Exception e) {
+                // The index is rebuilt on restart, a failed update must not fail the request
+                log.warn("Failed to update related jobs, error: {}", e.getMessage());
+            }
+        });
+    }
+}
@@ -0,0 +1,200 @@
+package com.example.Job.service.Impl;
+
+import com.example.Job.config.RedisConfig;
+import com.example.Job.constant.JobStatusEnum;
+import com.example.Job.constant.SuggestionTypeEnum;
+import com.example.Job.entity.Company;
+import com.example.Job.entity.Job;
+import com.example.Job.models.dtos.SuggestionResponse;
+import com.example.Job.repository.JobRepository;
+import com.example.Job.search.Suggestion;
+import com.example.Job.search.SuggestionTrie;
+import com.example.Job.search.SwappableIndex;
+import com.example.Job.service.IRedisService;
+import com.example.Job.service.ISuggestionService;
+import com.example.Job.utils.TextUtil;
+import com.example.Job.utils.TransactionUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class SuggestionServiceImpl implements ISuggestionService {
+
+    private static final Logger log = LoggerFactory.getLogger(SuggestionServiceImpl.class);
+
+    private static final int REBUILD_BATCH_SIZE = 500;
+
+    private final JobRepository jobRepository;
+
+    // Replaced as a whole on rebuild, so keystrokes never see a half built trie
+    private final SwappableIndex<Suggestions> suggestions = new SwappableIndex<>(new Suggestions());
+
+    public SuggestionServiceImpl(JobRepository jobRepository, IRedisService redisService) {
+        this.jobRepository = jobRepository;
+
+        // Jobs changed on other nodes
+        redisService.subscribe(RedisConfig.JOB_CHANGED_CHANNEL, String.class, this::onJobChanged);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        rebuild();
+    }
+
+    @Override
+    public List<SuggestionResponse> suggest(String query, int limit) {
+        int boundedLimit = Math.max(1, Math.min(limit, SuggestionTrie.TOP_K));
+
+        return suggestions.get().trie.suggest(query, boundedLimit).stream()
+                .map(suggestion -> new SuggestionResponse(suggestion.getText(), suggestion.getType(), suggestion.getCompanyId()))
+                .toList();
+    }
+
+    @Override
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+
+        Suggestions built = suggestions.rebuild(() -> {
+            Suggestions newSuggestions = new Suggestions();
+
+            Page<Job> batch;
+            int page = 0;
+            do {
+                batch = jobRepository.findByJobStatus(JobStatusEnum.ACTIVE,
+                        PageRequest.of(page++, REBUILD_BATCH_SIZE, Sort.by("id")));
+                batch.forEach(newSuggestions::add);
+            } while (batch.hasNext());
+            return newSuggestions;
+        });
+
+        log.info("Built job suggestion trie: {} entries in {} ms", built.trie.size(), System.currentTimeMillis() - start);
+    }
+
+    @Override
+    public void onJobCreated(Job job) {
+        if (job.getJobStatus() != JobStatusEnum.ACTIVE) return;
+
+        afterCommit(() -> suggestions.apply(current -> current.add(job)));
+    }
+
+    @Override
+    public void onJobStatusChanged(long jobId, JobStatusEnum jobStatus) {
+        afterCommit(() -> {
+            if (jobStatus == JobStatusEnum.ACTIVE) {
+                // The status update is a bulk query, read the committed row back with its company
+                jobRepository.findAllWithCompanyByIdIn(List.of(jobId))
+                        .forEach(job -> suggestions.apply(current -> current.add(job)));
+            } else {
+                suggestions.apply(current -> current.remove(jobId));
+            }
+        });
+    }
+
+    // This node's own changes come back too, re-reading the committed row makes that harmless
+    private void onJobChanged(String message) {
+        long jobId = Long.parseLong(message);
+        List<Job> jobs = jobRepository.findAllWithCompanyByIdIn(List.of(jobId));
+        Job activeJob = jobs.stream().filter(job -> job.getJobStatus() == JobStatusEnum.ACTIVE).findFirst().orElse(null);
+
+        suggestions.apply(current -> {
+            if (activeJob != null) current.add(activeJob);
+            else current.remove(jobId);
+        });
+    }
+
+    // Companies are weighted by followers first, then by how many jobs they have open
+    private static Suggestion companySuggestion(ActiveJob activeJob, int jobCount) {
+        return new Suggestion(companyKey(activeJob.companyId), activeJob.companyName, SuggestionTypeEnum.COMPANY,
+                activeJob.companyId, activeJob.companyFollowers + jobCount);
+    }
+
+    private static String titleKey(String title) {
+        return SuggestionTypeEnum.JOB_TITLE + ":" + TextUtil.normalize(title);
+    }
+
+    private static String companyKey(long companyId) {
+        return SuggestionTypeEnum.COMPANY + ":" + companyId;
+    }
+
+    private void afterCommit(Runnable action) {
+        TransactionUtil.afterCommit(() -> {
+            try {
+                action.run();
+            } catch (Exception e) {
+                // The trie is rebuilt on restart, a failed update must not fail the request
+                log.warn("Failed to update job suggestions, error: {}", e.getMessage());
+            }
+        });
+    }
+
+    // The trie plus what each ACTIVE job contributes, so a job leaving ACTIVE is removed without a DB read.
+    // Only changed through SwappableIndex, one change at a time.
+    private static class Suggestions {
+        private final SuggestionTrie trie = new SuggestionTrie();
+        private final Map<Long, ActiveJob> activeJobs = new HashMap<>();
+        private final Map<String, Integer> titleCounts = new HashMap<>();
+        private final Map<Long, Integer> companyJobCounts = new HashMap<>();
+
+        private void add(Job job) {
+            if (activeJobs.containsKey(job.getId()) || job.getName() == null) return;
+
+            Company company = job.getCompany();
+            ActiveJob activeJob = new ActiveJob(titleKey(job.getName()), job.getName(),
+                    company != null ? company.getId() : null,
+                    company != null ? company.getName() : null,
+                    company != null && company.getNumOfFollowers() != null ? company.getNumOfFollowers() : 0);
+            activeJobs.put(job.getId(), activeJob);
+
+            // A title is as popular as the number of ACTIVE jobs carrying it
+            int titleCount = titleCounts.merge(activeJob.titleKey, 1, Integer::sum);
+            trie.put(new Suggestion(activeJob.titleKey, activeJob.title, SuggestionTypeEnum.JOB_TITLE, null, titleCount));
+
+            if (activeJob.companyId != null && activeJob.companyName != null) {
+                int jobCount = companyJobCounts.merge(activeJob.companyId, 1, Integer::sum);
+                trie.put(companySuggestion(activeJob, jobCount));
+            }
+        }
+
+        private void remove(long jobId) {
+            ActiveJob activeJob = activeJobs.remove(jobId);
+            if (activeJob == null) return;
+
+            Integer titleCount = titleCounts.computeIfPresent(activeJob.titleKey, (key, count) -> count > 1 ? count - 1 : null);
+            if (titleCount == null) trie.remove(activeJob.titleKey);
+            else trie.put(new Suggestion(activeJob.titleKey, activeJob.title, SuggestionTypeEnum.JOB_TITLE, null, titleCount));
+
+            if (activeJob.companyId != null && activeJob.companyName != null) {
+                // A company is only suggested while it has ACTIVE jobs
+                Integer jobCount = companyJobCounts.computeIfPresent(activeJob.companyId, (key, count) -> count > 1 ? count - 1 : null);
+                if (jobCount == null) trie.remove(companyKey(activeJob.companyId));
+                else trie.put(companySuggestion(activeJob, jobCount));
+            }
+        }
+    }
+
+    private static class ActiveJob {
+        private final String titleKey;
+        private final String title;
+        private final Long companyId;
+        private final String companyName;
+        private final long companyFollowers;
+
+        private ActiveJob(String titleKey, String title, Long companyId, String companyName, long companyFollowers) {
+            this.titleKey = titleKey;
+            this.title = title;
+            this.companyId = companyId;
+            this.companyName = companyName;
+            this.companyFollowers = companyFollowers;
+        }
+    }
+}
@@ -18,17 +18,24 @@ public class JobOrdering {
 
     public void addRankOrder(Root<Job> root, CriteriaBuilder cb, String keyword) {
         if (keyword != null && !keyword.isEmpty()) {
-            Expression<Float> rank = cb.function(
-                    "fts_rank",
-                    Float.class,
-                    root.get("searchVector"),
-                    cb.literal(keyword)
-            );
-
-            orders.add(cb.desc(rank));
+            orders.add(cb.desc(rank(root, cb, keyword)));
         }
     }
 
+    // Unique tie-breaker, needed so keyset (cursor) pagination has a total order
+    public void addIdOrder(Root<Job> root, CriteriaBuilder cb) {
+        orders.add(cb.desc(root.get("id")));
+    }
+
+    public static Expression<Float> rank(Root<Job> root, CriteriaBuilder cb, String keyword) {
+        return cb.function(
+                "fts_rank",
+                Float.class,
+                root.get("searchVector"),
+                cb.literal(keyword)
+        );
+    }
+
     public void apply(CriteriaQuery<?> query) {
 
         if (!orders.isEmpty()) {
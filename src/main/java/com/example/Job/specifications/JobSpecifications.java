@@ -5,6 +5,8 @@ import com.example.Job.constant.JobStatusEnum;
 import com.example.Job.constant.JobTypeEnum;
 import com.example.Job.constant.LevelEnum;
 import com.example.Job.entity.Job;
+import com.example.Job.models.dtos.JobSearchCursor;
+import com.example.Job.utils.TextUtil;
 import jakarta.annotation.PostConstruct;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.criteria.*;
@@ -79,7 +81,7 @@ public class JobSpecifications {
         return (root, query, cb) -> {
             if(keyword == null || keyword.isEmpty()) return null;
 
-            String formatKeyword = keyword.trim().toLowerCase();
+            String formatKeyword = TextUtil.normalizeKeepingAccents(keyword);
 
 
             Expression<Boolean> similarity = cb.function(
@@ -101,7 +103,7 @@ public class JobSpecifications {
         return (root, query, cb) -> {
             if(keyword == null || keyword.isEmpty()) return null;
 
-            String formatKeyword = keyword.trim().toLowerCase();
+            String formatKeyword = TextUtil.normalizeKeepingAccents(keyword);
 
 
             // Using postgres word_similarity function with a threshold
@@ -218,4 +220,34 @@ public class JobSpecifications {
 
     }
 
+    // Keyset (seek) pagination: only keep rows that come strictly after the cursor
+    // in the (sortBy, rank desc, id desc) ordering of the cursor search
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static Specification<Job> isAfterCursor(JobSearchCursor cursor, String keyword, String sortBy, boolean isAscending){
+        return (root, query, cb) -> {
+            if(cursor == null) return null;
+
+            Predicate after = cb.lessThan(root.get("id"), cursor.getId());
+
+            if(keyword != null && !keyword.isEmpty() && cursor.getRank() != null){
+                Expression<Float> rank = JobOrdering.rank(root, cb, keyword);
+                after = cb.or(
+                        cb.lessThan(rank, cursor.getRank()),
+                        cb.and(cb.equal(rank, cursor.getRank()), after)
+                );
+            }
+
+            if(sortBy != null && !sortBy.isEmpty() && cursor.getSortValue() != null){
+                Expression<Comparable> sortKey = root.get(sortBy);
+                Comparable sortValue = cursor.sortValueAs(sortKey.getJavaType());
+                after = cb.or(
+                        isAscending ? cb.greaterThan(sortKey, sortValue) : cb.lessThan(sortKey, sortValue),
+                        cb.and(cb.equal(sortKey, sortValue), after)
+                );
+            }
+
+            return after;
+        };
+    }
+
 }
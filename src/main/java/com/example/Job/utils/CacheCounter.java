@@ -0,0 +1,36 @@
+package com.example.Job.utils;
+
+import com.example.Job.models.dtos.CacheStats;
+
+import java.util.concurrent.atomic.LongAdder;
+
+// Hit/miss counter of a cache, cheap enough to be updated on every lookup
+public class CacheCounter {
+    private final String name;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public CacheCounter(String name) {
+        this.name = name;
+    }
+
+    public void hit() {
+        hits.increment();
+    }
+
+    public void hit(long count) {
+        hits.add(count);
+    }
+
+    public void miss() {
+        misses.increment();
+    }
+
+    public void miss(long count) {
+        misses.add(count);
+    }
+
+    public CacheStats snapshot() {
+        return new CacheStats(name, hits.sum(), misses.sum());
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.Job.utils;
+
+import com.example.Job.models.dtos.LatencyStats;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+// Call count, mean and max latency of one code path, cheap enough to be updated on every call
+public class LatencyRecorder {
+    private final String name;
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+    public LatencyRecorder(String name) {
+        this.name = name;
+    }
+
+    public void record(long startNanos) {
+        long elapsed = System.nanoTime() - startNanos;
+        count.increment();
+        totalNanos.add(elapsed);
+        maxNanos.accumulate(elapsed);
+    }
+
+    public LatencyStats snapshot() {
+        long calls = count.sum();
+        double meanMillis = calls == 0 ? 0 : totalNanos.sum() / 1_000_000.0 / calls;
+
+        return new LatencyStats(name, calls, meanMillis, maxNanos.get() / 1_000_000.0);
+    }
+}
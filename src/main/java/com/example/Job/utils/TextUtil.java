@@ -0,0 +1,46 @@
+package com.example.Job.utils;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+public class TextUtil {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern WHITESPACES = Pattern.compile("\\s+");
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    // Same idea as postgres unaccent(): "Kế Toán Đà Nẵng" -> "Ke Toan Da Nang"
+    public static String unaccent(String text) {
+        if (text == null) return null;
+
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return MARKS.matcher(decomposed).replaceAll("")
+                .replace('đ', 'd')
+                .replace('Đ', 'D');
+    }
+
+    // Lowercase, trimmed, unaccented text with single spaces
+    public static String normalize(String text) {
+        if (text == null) return "";
+
+        return WHITESPACES.matcher(unaccent(text.trim().toLowerCase())).replaceAll(" ");
+    }
+
+    // Lowercase, trimmed text with single spaces, for predicates that compare the text as typed
+    public static String normalizeKeepingAccents(String text) {
+        if (text == null) return "";
+
+        return WHITESPACES.matcher(text.trim().toLowerCase()).replaceAll(" ");
+    }
+
+    // Split normalized text into words, like the 'simple' text search configuration
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        for (String token : NON_WORD.split(normalize(text))) {
+            if (!token.isEmpty()) tokens.add(token);
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.Job.config;
+
+import com.example.Job.constant.IndustryEnum;
+import com.example.Job.constant.JobStatusEnum;
+import com.example.Job.constant.JobTypeEnum;
+import com.example.Job.constant.LevelEnum;
+import com.example.Job.entity.Address;
+import com.example.Job.models.dtos.JobDetailCompanyResponse;
+import com.example.Job.models.dtos.JobSearchCacheEntry;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+// Encode / decode time of the Redis value codecs, JSON with "@class" names (app.redis.codec=json)
+// against CompactRedisSerializer, on a job detail and on a cached search page.
+// main prints the payload sizes first. Not a unit test, surefire skips it:
+// run its main method on the test classpath after mvn test-compile.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RedisSerializerBenchmark {
+
+    @Param({"json", "compact"})
+    private String codec;
+
+    @Param({"jobDetail", "searchPage"})
+    private String payload;
+
+    private RedisSerializer<Object> serializer;
+    private Object value;
+    private byte[] bytes;
+
+    @Setup
+    public void setUp() {
+        serializer = serializer(codec);
+        value = payload(payload);
+        bytes = serializer.serialize(value);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return serializer.serialize(value);
+    }
+
+    @Benchmark
+    public Object decode() {
+        return serializer.deserialize(bytes);
+    }
+
+    // Same setup as RedisConfig.redisValueSerializer
+    private static RedisSerializer<Object> serializer(String codec) {
+        GenericJackson2JsonRedisSerializer jsonSerializer = new GenericJackson2JsonRedisSerializer()
+                .configure(mapper -> mapper.registerModule(new JavaTimeModule())
+                        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS));
+
+        return "json".equals(codec) ? jsonSerializer : new CompactRedisSerializer(jsonSerializer);
+    }
+
+    private static Object payload(String payload) {
+        if ("searchPage".equals(payload)) {
+            // One page of 20 ids out of a large result
+            return new JobSearchCacheEntry(LongStream.rangeClosed(100_000, 100_019).boxed().toList(), 12_345);
+        }
+
+        JobDetailCompanyResponse detail = new JobDetailCompanyResponse();
+        detail.setId(42L);
+        detail.setName("Lập trình viên Java (Spring Boot)");
+        detail.setCity(List.of("Hồ Chí Minh", "Hà Nội"));
+        detail.setSkills(List.of("Java", "Spring Boot", "PostgreSQL", "Redis", "Docker"));
+        detail.setSalaryFrom(20_000_000);
+        detail.setSalaryTo(35_000_000);
+        detail.setQuantity(3);
+        detail.setIndustry(IndustryEnum.IT);
+        detail.setJobType(JobTypeEnum.FULL_TIME);
+        detail.setLevel(LevelEnum.MIDDLE);
+        detail.setYearOfExperience(3);
+        detail.setDescription("Xây dựng và vận hành hệ thống tìm kiếm việc làm. ".repeat(10));
+        detail.setDetail("Yêu cầu: kinh nghiệm Java, Spring, SQL. Quyền lợi: lương tháng 13, bảo hiểm. ".repeat(10));
+        detail.setDeadline(Instant.parse("2026-12-31T00:00:00Z"));
+        detail.setJobStatus(JobStatusEnum.ACTIVE);
+        detail.setCreatedAt(Instant.parse("2026-10-01T08:30:00Z"));
+        detail.setUpdatedAt(Instant.parse("2026-10-02T09:00:00Z"));
+        detail.setCompanyId(3L);
+        detail.setCompanyName("Công ty ABC");
+        detail.setCompanyImgUrl("https://cdn.example.com/abc.png");
+        detail.setCompanySize("100-500");
+        detail.setCompanyIndustry(IndustryEnum.IT);
+        detail.setCompanyAddress(new Address("Hồ Chí Minh", "Quận 1", "12 Lê Lợi"));
+        return detail;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        for (String payload : List.of("jobDetail", "searchPage")) {
+            for (String codec : List.of("json", "compact")) {
+                System.out.printf("%-10s %-8s %6d bytes%n", payload, codec, serializer(codec).serialize(payload(payload)).length);
+            }
+        }
+
+        new Runner(new OptionsBuilder().include(RedisSerializerBenchmark.class.getSimpleName()).build()).run();
+    }
+}
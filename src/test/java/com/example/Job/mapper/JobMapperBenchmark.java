@@ -0,0 +1,83 @@
+package com.example.Job.mapper;
+
+import com.example.Job.constant.IndustryEnum;
+import com.example.Job.constant.JobStatusEnum;
+import com.example.Job.entity.Address;
+import com.example.Job.entity.Company;
+import com.example.Job.entity.Job;
+import com.example.Job.models.dtos.GetJobResponse;
+import com.example.Job.models.dtos.JobDetailCompanyResponse;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Cost of one Job -> response mapping, ModelMapper (reflection, as before) against the generated MapStruct mapper.
+// Not a unit test, surefire skips it: run its main method on the test classpath after mvn test-compile.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JobMapperBenchmark {
+
+    private final ModelMapper modelMapper = new ModelMapper();
+    private final JobMapper jobMapper = new JobMapperImpl();
+
+    private Job job;
+
+    @Setup
+    public void setUp() {
+        Company company = new Company();
+        company.setId(3L);
+        company.setName("Công ty ABC");
+        company.setImgUrl("https://cdn.example.com/abc.png");
+        company.setCompanySize("100-500");
+        company.setIndustry(IndustryEnum.values()[0]);
+        company.setAddress(new Address("Hồ Chí Minh", "Quận 1", "12 Lê Lợi"));
+
+        job = new Job();
+        job.setId(42L);
+        job.setName("Java developer");
+        job.setCity(List.of("Hồ Chí Minh", "Hà Nội"));
+        job.setSkills(List.of("Java", "Spring Boot", "PostgreSQL"));
+        job.setSalaryFrom(1500);
+        job.setSalaryTo(2500);
+        job.setYearOfExperience(2);
+        job.setIndustry(IndustryEnum.values()[0]);
+        job.setDescription("Build and run the job search backend");
+        job.setDeadline(Instant.now());
+        job.setJobStatus(JobStatusEnum.ACTIVE);
+        job.setCompany(company);
+    }
+
+    @Benchmark
+    public GetJobResponse searchRowModelMapper() {
+        return modelMapper.map(job, GetJobResponse.class);
+    }
+
+    @Benchmark
+    public GetJobResponse searchRowMapStruct() {
+        return jobMapper.toGetJobResponse(job);
+    }
+
+    @Benchmark
+    public JobDetailCompanyResponse detailModelMapper() {
+        return modelMapper.map(job, JobDetailCompanyResponse.class);
+    }
+
+    @Benchmark
+    public JobDetailCompanyResponse detailMapStruct() {
+        return jobMapper.toJobDetailCompanyResponse(job);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JobMapperBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.Job.models.dtos;
+
+import com.example.Job.entity.Job;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JobSearchCursorTest {
+
+    @Test
+    void encode_decode_roundTrip() {
+        Job job = new Job();
+        job.setId(42L);
+        job.setCreatedAt(Instant.parse("2024-06-01T10:15:30.123Z"));
+
+        String encoded = JobSearchCursor.from(job, 0.75f, "createdAt", false).encode();
+        JobSearchCursor cursor = JobSearchCursor.decode(encoded);
+
+        assertEquals("createdAt", cursor.getSortBy());
+        assertFalse(cursor.isAscending());
+        assertEquals(0.75f, cursor.getRank());
+        assertEquals(42L, cursor.getId());
+        assertEquals(job.getCreatedAt(), cursor.sortValueAs(Instant.class));
+        // Url-safe, no padding: the cursor goes into a query parameter as is
+        assertFalse(encoded.contains("=") || encoded.contains("+") || encoded.contains("/"));
+    }
+
+    @Test
+    void encode_decode_withoutSortOrRank() {
+        Job job = new Job();
+        job.setId(7L);
+
+        JobSearchCursor cursor = JobSearchCursor.decode(JobSearchCursor.from(job, null, null, true).encode());
+
+        assertNull(cursor.getSortBy());
+        assertNull(cursor.getSortValue());
+        assertNull(cursor.getRank());
+        assertEquals(7L, cursor.getId());
+    }
+
+    @Test
+    void sortValueAs_javaTypeOfTheColumn() {
+        Job job = new Job();
+        job.setId(1L);
+        job.setSalaryFrom(15_000_000);
+        job.setYearOfExperience(2.5f);
+
+        assertEquals(15_000_000.0, JobSearchCursor.decode(JobSearchCursor.from(job, null, "salaryFrom", true).encode())
+                .sortValueAs(double.class));
+        assertEquals(2.5f, JobSearchCursor.decode(JobSearchCursor.from(job, null, "yearOfExperience", true).encode())
+                .sortValueAs(float.class));
+    }
+
+    @Test
+    void matches_onlyTheSameOrdering() {
+        JobSearchCursor byDate = new JobSearchCursor("createdAt", false, "2024-06-01T00:00:00Z", null, 1L);
+        JobSearchCursor byRank = new JobSearchCursor(null, true, null, 0.5f, 1L);
+
+        assertTrue(byDate.matches("createdAt", false));
+        assertFalse(byDate.matches("createdAt", true));
+        assertFalse(byDate.matches("salaryFrom", false));
+        // Rank order has no direction
+        assertTrue(byRank.matches("", false));
+        assertTrue(byRank.matches(null, true));
+    }
+
+    @Test
+    void decode_malformed_rejected() {
+        String wrongParts = Base64.getUrlEncoder().withoutPadding().encodeToString("createdAt|a|1".getBytes());
+
+        assertThrows(IllegalArgumentException.class, () -> JobSearchCursor.decode("not base64 !"));
+        assertThrows(IllegalArgumentException.class, () -> JobSearchCursor.decode(wrongParts));
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.Job.models.dtos;
+
+import com.example.Job.entity.Notification;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NotificationCursorTest {
+
+    @Test
+    void encode_decode_roundTrip() {
+        Notification notification = new Notification();
+        notification.setId(99L);
+        notification.setCreatedAt(Instant.parse("2024-06-01T10:15:30.123456Z"));
+
+        NotificationCursor cursor = NotificationCursor.decode(NotificationCursor.from(notification).encode());
+
+        assertEquals(notification.getCreatedAt(), cursor.getCreatedAt());
+        assertEquals(99L, cursor.getId());
+    }
+
+    @Test
+    void decode_malformed_rejected() {
+        String wrongParts = Base64.getUrlEncoder().withoutPadding().encodeToString("2024-06-01T10:15:30Z".getBytes());
+        String badInstant = Base64.getUrlEncoder().withoutPadding().encodeToString("yesterday|1".getBytes());
+
+        assertThrows(IllegalArgumentException.class, () -> NotificationCursor.decode("not base64 !"));
+        assertThrows(IllegalArgumentException.class, () -> NotificationCursor.decode(wrongParts));
+        assertThrows(IllegalArgumentException.class, () -> NotificationCursor.decode(badInstant));
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.Job.repository;
+
+import com.example.Job.models.dtos.NotificationRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Write cost against read cost of the two follower notification strategies, at several follower counts:
+// - fan-out on write: one row per follower, inserted in chunks by NotificationFanoutRepositoryImpl
+// - broadcast: one row per post, merged into each follower's inbox on read (NotificationServiceImpl.getInbox)
+// Runs the same SQL as the application on a real PostgreSQL, in temporary tables of its own session,
+// so the database it points at is left untouched. Not a unit test, surefire skips it:
+//   mvn test-compile, then run main on the test classpath with
+//   -Dbench.url=jdbc:postgresql://localhost:5432/job -Dbench.user=... -Dbench.password=...
+//   optional: -Dbench.followers=100,1000,10000,100000 -Dbench.posts=20 -Dbench.readers=200
+public class NotificationFanoutMeasurement {
+
+    private static final long COMPANY_ID = 1;
+    private static final int CHUNK_SIZE = 1000;
+    private static final int PAGE_SIZE = 20;
+
+    // Same shape and indexes as the application tables: Hibernate's keys plus the indexes of postgres.sql.
+    // The embedded id of CompanyFollow becomes (company_id, user_id), the order the fan-out walks.
+    private static final String[] SCHEMA = {
+            "CREATE TEMP TABLE company_follow (company_id bigint NOT NULL, user_id bigint NOT NULL, followed_at timestamptz, " +
+                    "PRIMARY KEY (company_id, user_id))",
+            "CREATE INDEX ON company_follow (user_id, company_id)",
+            "CREATE TEMP TABLE notifications (id bigserial PRIMARY KEY, title varchar(255), message varchar(255), " +
+                    "recipient_id bigint, company_id bigint, is_read boolean NOT NULL DEFAULT false, link varchar(255), " +
+                    "created_at timestamptz)",
+            "CREATE INDEX ON notifications (recipient_id, created_at DESC, id DESC)",
+            "CREATE INDEX ON notifications (company_id, created_at DESC, id DESC) WHERE recipient_id IS NULL",
+            "CREATE TEMP TABLE notification_reads (notification_id bigint NOT NULL, user_id bigint NOT NULL, read_at timestamptz, " +
+                    "PRIMARY KEY (notification_id, user_id))"
+    };
+
+    // Native forms of the NotificationRepository inbox queries
+    private static final String INBOX_FIRST_PAGE = """
+            SELECT id, created_at, recipient_id FROM notifications
+            WHERE recipient_id = ?
+            ORDER BY created_at DESC, id DESC LIMIT ?
+            """;
+    private static final String BROADCAST_FIRST_PAGE = """
+            SELECT n.id, n.created_at, n.recipient_id FROM notifications n
+            WHERE n.recipient_id IS NULL AND n.company_id IN
+                (SELECT cf.company_id FROM company_follow cf
+                 WHERE cf.user_id = ? AND (cf.followed_at IS NULL OR cf.followed_at <= n.created_at))
+            ORDER BY n.created_at DESC, n.id DESC LIMIT ?
+            """;
+    private static final String READ_MARKERS = """
+            SELECT notification_id FROM notification_reads WHERE user_id = ? AND notification_id = ANY (?)
+            """;
+
+    public static void main(String[] args) {
+        String url = System.getProperty("bench.url", "jdbc:postgresql://localhost:5432/job");
+        List<Long> followerCounts = List.of(System.getProperty("bench.followers", "100,1000,10000,100000").split(","))
+                .stream().map(String::trim).map(Long::parseLong).toList();
+        int posts = Integer.getInteger("bench.posts", 20);
+        int readers = Integer.getInteger("bench.readers", 200);
+
+        SingleConnectionDataSource dataSource = new SingleConnectionDataSource(url,
+                System.getProperty("bench.user", "postgres"), System.getProperty("bench.password", ""), true);
+        try {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+            for (String statement : SCHEMA) jdbcTemplate.execute(statement);
+
+            NotificationFanoutMeasurement measurement = new NotificationFanoutMeasurement(jdbcTemplate, posts, readers);
+            System.out.printf("%d posts per run, inbox page of %d read by %d followers%n", posts, PAGE_SIZE, readers);
+            System.out.printf("%10s | %-9s | %14s | %12s | %14s%n", "followers", "strategy", "write ms/post", "rows/post", "read ms/inbox");
+            for (long followers : followerCounts) {
+                measurement.run(followers);
+            }
+        } finally {
+            dataSource.destroy();
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NotificationFanoutRepositoryImpl fanoutRepository;
+    private final int posts;
+    private final int readers;
+
+    private NotificationFanoutMeasurement(JdbcTemplate jdbcTemplate, int posts, int readers) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.fanoutRepository = new NotificationFanoutRepositoryImpl(jdbcTemplate);
+        this.posts = posts;
+        this.readers = readers;
+    }
+
+    private void run(long followers) {
+        jdbcTemplate.execute("TRUNCATE company_follow, notifications, notification_reads");
+        // Followed a day ago, so every post of the run is visible to every follower
+        jdbcTemplate.update("INSERT INTO company_follow (user_id, company_id, followed_at) " +
+                "SELECT user_id, ?, now() - interval '1 day' FROM generate_series(1, ?) AS user_id", COMPANY_ID, followers);
+        jdbcTemplate.execute("ANALYZE company_follow");
+
+        // Fan-out on write
+        long start = System.nanoTime();
+        for (int post = 0; post < posts; post++) {
+            NotificationRequest request = request(post);
+            long afterUserId = 0;
+            List<Long> recipientIds;
+            do {
+                recipientIds = fanoutRepository.insertForFollowersAfter(COMPANY_ID, afterUserId, CHUNK_SIZE, request);
+                if (!recipientIds.isEmpty()) afterUserId = recipientIds.get(recipientIds.size() - 1);
+            } while (recipientIds.size() == CHUNK_SIZE);
+        }
+        double fanoutWriteMillis = millisSince(start) / posts;
+        jdbcTemplate.execute("ANALYZE notifications");
+        double fanoutReadMillis = readInboxes(followers, false);
+        print(followers, "fan-out", fanoutWriteMillis, followers, fanoutReadMillis);
+
+        // Broadcast, merged on read
+        jdbcTemplate.execute("TRUNCATE notifications, notification_reads");
+        start = System.nanoTime();
+        for (int post = 0; post < posts; post++) {
+            NotificationRequest request = request(post);
+            jdbcTemplate.update("INSERT INTO notifications (title, message, company_id, is_read, link, created_at) VALUES (?, ?, ?, false, ?, ?)",
+                    request.getTitle(), request.getMessage(), COMPANY_ID, request.getLink(), Timestamp.from(request.getCreatedAt()));
+        }
+        double broadcastWriteMillis = millisSince(start) / posts;
+        jdbcTemplate.execute("ANALYZE notifications");
+        double broadcastReadMillis = readInboxes(followers, true);
+        print(followers, "broadcast", broadcastWriteMillis, 1, broadcastReadMillis);
+    }
+
+    // Average time of one first inbox page, as getInbox builds it
+    private double readInboxes(long followers, boolean merge) {
+        // Warm the plans and the buffer cache before measuring
+        for (int i = 0; i < Math.min(readers, 20); i++) readInbox(randomFollower(followers), merge);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < readers; i++) {
+            readInbox(randomFollower(followers), merge);
+        }
+        return millisSince(start) / readers;
+    }
+
+    private List<Map<String, Object>> readInbox(long userId, boolean merge) {
+        List<Map<String, Object>> rows = new ArrayList<>(jdbcTemplate.queryForList(INBOX_FIRST_PAGE, userId, PAGE_SIZE + 1));
+        if (!merge) return rows;
+
+        rows.addAll(jdbcTemplate.queryForList(BROADCAST_FIRST_PAGE, userId, PAGE_SIZE + 1));
+        rows.sort(Comparator.<Map<String, Object>, Timestamp>comparing(row -> (Timestamp) row.get("created_at"))
+                .thenComparing(row -> ((Number) row.get("id")).longValue()).reversed());
+        List<Map<String, Object>> page = rows.subList(0, Math.min(PAGE_SIZE, rows.size()));
+
+        // Read markers of the broadcasts on the page
+        Long[] broadcastIds = page.stream()
+                .filter(row -> row.get("recipient_id") == null)
+                .map(row -> ((Number) row.get("id")).longValue())
+                .toArray(Long[]::new);
+        if (broadcastIds.length > 0) {
+            jdbcTemplate.query(connection -> {
+                var statement = connection.prepareStatement(READ_MARKERS);
+                statement.setLong(1, userId);
+                statement.setArray(2, connection.createArrayOf("bigint", broadcastIds));
+                return statement;
+            }, (row, rowNum) -> row.getLong(1));
+        }
+        return page;
+    }
+
+    private static NotificationRequest request(int post) {
+        NotificationRequest request = new NotificationRequest();
+        request.setTitle("New job");
+        request.setMessage("Company posted job " + post);
+        request.setLink("/jobs/" + post);
+        request.setCreatedAt(Instant.now());
+        return request;
+    }
+
+    private static long randomFollower(long followers) {
+        return ThreadLocalRandom.current().nextLong(1, followers + 1);
+    }
+
+    private static double millisSince(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000.0;
+    }
+
+    private static void print(long followers, String strategy, double writeMillis, long rowsPerPost, double readMillis) {
+        System.out.printf("%10d | %-9s | %14.2f | %12d | %14.3f%n", followers, strategy, writeMillis, rowsPerPost, readMillis);
+    }
+}
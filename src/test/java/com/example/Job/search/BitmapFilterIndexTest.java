@@ -0,0 +1,80 @@
+package com.example.Job.search;
+
+import com.example.Job.constant.IndustryEnum;
+import com.example.Job.constant.JobTypeEnum;
+import com.example.Job.constant.LevelEnum;
+import com.example.Job.models.dtos.JobFilter;
+import org.junit.jupiter.api.Test;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BitmapFilterIndexTest {
+
+    private final JobDocument javaHanoi = document(1, IndustryEnum.IT, JobTypeEnum.FULL_TIME, LevelEnum.JUNIOR,
+            1, 10_000_000, 15_000_000, List.of("Ha Noi"));
+    private final JobDocument javaRemote = document(2, IndustryEnum.IT, JobTypeEnum.REMOTE, LevelEnum.SENIOR,
+            5, 30_000_000, 50_000_000, List.of("Ha Noi", "Ho Chi Minh"));
+    private final JobDocument accountant = document(3, IndustryEnum.FINANCE, JobTypeEnum.FULL_TIME, LevelEnum.JUNIOR,
+            2, 8_000_000, 12_000_000, List.of("Da Nang"));
+
+    @Test
+    void filter_emptyFilter_everyJob() {
+        BitmapFilterIndex index = indexOf(javaHanoi, javaRemote, accountant);
+
+        assertEquals(bits(1, 2, 3), index.filter(JobFilter.builder().build()));
+    }
+
+    @Test
+    void filter_andsTheAttributes_orsTheCities() {
+        BitmapFilterIndex index = indexOf(javaHanoi, javaRemote, accountant);
+
+        assertEquals(bits(1, 2), index.filter(JobFilter.builder().industry(IndustryEnum.IT).build()));
+        assertEquals(bits(1), index.filter(JobFilter.builder().industry(IndustryEnum.IT).jobType(JobTypeEnum.FULL_TIME).build()));
+        assertEquals(bits(2, 3), index.filter(JobFilter.builder().cities(List.of("Ho Chi Minh", "Da Nang")).build()));
+        assertEquals(new RoaringBitmap(), index.filter(JobFilter.builder().level(LevelEnum.INTERN).build()));
+    }
+
+    @Test
+    void filter_ranges_likeTheSpecifications() {
+        BitmapFilterIndex index = indexOf(javaHanoi, javaRemote, accountant);
+
+        assertEquals(bits(1, 3), index.filter(JobFilter.builder().maxExperience(2).build()));
+        assertEquals(bits(2), index.filter(JobFilter.builder().minExperience(3).build()));
+        // min salary applies to salaryFrom, max salary to salaryTo
+        assertEquals(bits(1, 2), index.filter(JobFilter.builder().minSalary(10_000_000.0).build()));
+        assertEquals(bits(1, 3), index.filter(JobFilter.builder().maxSalary(15_000_000.0).build()));
+    }
+
+    @Test
+    void remove_clearsEveryBitmap() {
+        BitmapFilterIndex index = indexOf(javaHanoi, javaRemote, accountant);
+
+        index.remove(javaRemote);
+
+        assertEquals(bits(1, 3), index.filter(JobFilter.builder().build()));
+        assertEquals(bits(1), index.filter(JobFilter.builder().cities(List.of("Ha Noi", "Ho Chi Minh")).build()));
+        assertEquals(new RoaringBitmap(), index.filter(JobFilter.builder().minExperience(3).build()));
+    }
+
+    private static BitmapFilterIndex indexOf(JobDocument... documents) {
+        BitmapFilterIndex index = new BitmapFilterIndex();
+        for (JobDocument document : documents) index.add(document);
+        return index;
+    }
+
+    private static JobDocument document(int docId, IndustryEnum industry, JobTypeEnum jobType, LevelEnum level,
+                                        float yearOfExperience, double salaryFrom, double salaryTo, List<String> cities) {
+        return new JobDocument(docId, Map.of(), 0, Set.of(), "job " + docId, industry, jobType, level,
+                yearOfExperience, salaryFrom, salaryTo, cities, Instant.EPOCH, null);
+    }
+
+    private static RoaringBitmap bits(int... docIds) {
+        return RoaringBitmap.bitmapOf(docIds);
+    }
+}
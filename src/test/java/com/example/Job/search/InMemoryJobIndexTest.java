@@ -0,0 +1,96 @@
+package com.example.Job.search;
+
+import com.example.Job.constant.IndustryEnum;
+import com.example.Job.entity.Job;
+import com.example.Job.models.dtos.JobFilter;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryJobIndexTest {
+
+    @Test
+    void search_everyTermMustMatch() {
+        InMemoryJobIndex index = new InMemoryJobIndex();
+        index.add(job(1, "Java developer", "Spring Boot, PostgreSQL"));
+        index.add(job(2, "Java tester", "Spring, Selenium"));
+        index.add(job(3, "Kế toán", "Excel"));
+
+        assertEquals(List.of(1L), search(index, "spring postgresql").getJobIds());
+        assertEquals(List.of(3L), search(index, "ke toan").getJobIds());
+    }
+
+    @Test
+    void search_bm25_nameMatchBeforeDescriptionMatch() {
+        InMemoryJobIndex index = new InMemoryJobIndex();
+        index.add(job(1, "Backend engineer", "We use Kotlin"));
+        index.add(job(2, "Kotlin engineer", "Backend services"));
+        index.add(job(3, "Accountant", "Invoices"));
+
+        assertEquals(List.of(2L, 1L), search(index, "kotlin").getJobIds());
+    }
+
+    @Test
+    void search_bm25_shorterJobFirstForTheSameFrequency() {
+        InMemoryJobIndex index = new InMemoryJobIndex();
+        index.add(job(1, "Developer", "java rust and more"));
+        index.add(job(2, "Developer", "rust"));
+        index.add(job(3, "Developer", "java"));
+
+        assertEquals(List.of(2L, 1L), search(index, "rust").getJobIds());
+    }
+
+    @Test
+    void search_typo_fuzzyMatchOnTheName() {
+        InMemoryJobIndex index = new InMemoryJobIndex();
+        index.add(job(1, "Java developer", "Spring"));
+
+        assertEquals(List.of(1L), search(index, "develper").getJobIds());
+    }
+
+    @Test
+    void search_filterAndPaging() {
+        InMemoryJobIndex index = new InMemoryJobIndex();
+        index.add(job(1, "Java developer", "Spring"));
+        index.add(job(2, "Java developer", "Spring"));
+        Job finance = job(3, "Java developer", "Spring");
+        finance.setIndustry(IndustryEnum.FINANCE);
+        index.add(finance);
+
+        JobIndexResult page = index.search(JobFilter.builder().keyword("java").industry(IndustryEnum.IT).build(),
+                "createdAt", false, 1, 1);
+
+        assertEquals(2, page.getTotalElements());
+        assertEquals(List.of(1L), page.getJobIds());
+    }
+
+    @Test
+    void remove_dropsTheJobFromEveryIndex() {
+        InMemoryJobIndex index = new InMemoryJobIndex();
+        index.add(job(1, "Java developer", "Spring"));
+        index.add(job(2, "Go developer", "Kubernetes"));
+
+        index.remove(1);
+
+        assertEquals(1, index.size());
+        assertEquals(List.of(), search(index, "java").getJobIds());
+        assertEquals(List.of(2L), search(index, "developer").getJobIds());
+    }
+
+    private static JobIndexResult search(InMemoryJobIndex index, String keyword) {
+        return index.search(JobFilter.builder().keyword(keyword).build(), null, false, 0, 10);
+    }
+
+    private static Job job(long id, String name, String description) {
+        Job job = new Job();
+        job.setId(id);
+        job.setName(name);
+        job.setDescription(description);
+        job.setIndustry(IndustryEnum.IT);
+        job.setCreatedAt(Instant.ofEpochSecond(id));
+        return job;
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.Job.search;
+
+import org.junit.jupiter.api.Test;
+import org.roaringbitmap.RoaringBitmap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RangeBitmapTest {
+
+    @Test
+    void atLeast_atMost_checkTheBoundaryBucketExactly() {
+        RangeBitmap experience = RangeBitmap.linear();
+        experience.add(1, 1.0);
+        experience.add(2, 2.0);
+        experience.add(3, 2.5);
+        experience.add(4, 5.0);
+
+        assertEquals(bits(3, 4), experience.atLeast(2.5));
+        assertEquals(bits(1, 2), experience.atMost(2.4));
+        assertEquals(bits(1, 2, 3, 4), experience.atLeast(0));
+    }
+
+    @Test
+    void exponential_buckets_sameResultsAsComparingEveryValue() {
+        RangeBitmap salary = RangeBitmap.exponential();
+        double[] values = {0, 0.5, 800, 1_000, 15_000_000, 20_000_000, 35_000_000};
+        for (int docId = 0; docId < values.length; docId++) {
+            salary.add(docId, values[docId]);
+        }
+
+        for (double bound : new double[]{0, 1, 900, 15_000_000, 16_000_000, 40_000_000}) {
+            RoaringBitmap atLeast = new RoaringBitmap();
+            RoaringBitmap atMost = new RoaringBitmap();
+            for (int docId = 0; docId < values.length; docId++) {
+                if (values[docId] >= bound) atLeast.add(docId);
+                if (values[docId] <= bound) atMost.add(docId);
+            }
+
+            assertEquals(atLeast, salary.atLeast(bound), "atLeast " + bound);
+            assertEquals(atMost, salary.atMost(bound), "atMost " + bound);
+        }
+    }
+
+    @Test
+    void add_again_movesTheDoc_remove_dropsIt() {
+        RangeBitmap experience = RangeBitmap.linear();
+        experience.add(1, 1.0);
+        experience.add(1, 4.0);
+        experience.add(2, 3.0);
+
+        assertEquals(bits(1), experience.atLeast(4));
+        assertEquals(bits(2), experience.atMost(3));
+
+        experience.remove(1);
+        experience.remove(99);
+
+        assertEquals(new RoaringBitmap(), experience.atLeast(4));
+    }
+
+    private static RoaringBitmap bits(int... docIds) {
+        return RoaringBitmap.bitmapOf(docIds);
+    }
+}
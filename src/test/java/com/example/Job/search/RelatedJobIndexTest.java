@@ -0,0 +1,49 @@
+package com.example.Job.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RelatedJobIndexTest {
+
+    @Test
+    void relatedTo_similarJobsFirst() {
+        RelatedJobIndex index = new RelatedJobIndex();
+        index.add(1, Set.of("java", "developer", "skill:spring boot"));
+        index.add(2, Set.of("java", "developer", "skill:spring boot"));
+        index.add(3, Set.of("ke", "toan", "tong", "hop"));
+
+        assertEquals(List.of(2L), index.relatedTo(1, 10));
+        assertEquals(List.of(1L), index.relatedTo(2, 10));
+    }
+
+    @Test
+    void relatedTo_notIndexed_null_noSimilarJob_empty() {
+        RelatedJobIndex index = new RelatedJobIndex();
+        index.add(1, Set.of("java", "developer"));
+
+        assertNull(index.relatedTo(99, 10));
+        assertEquals(List.of(), index.relatedTo(1, 10));
+    }
+
+    @Test
+    void remove_refillsTheListsThatHeldTheRemovedJob() {
+        RelatedJobIndex index = new RelatedJobIndex();
+        // Same tokens: every pair is related, each list keeps the MAX_RELATED newest
+        for (long jobId = 1; jobId <= RelatedJobIndex.MAX_RELATED + 2; jobId++) {
+            index.add(jobId, Set.of("java", "developer"));
+        }
+        long newest = RelatedJobIndex.MAX_RELATED + 2;
+        assertFalse(index.relatedTo(1, RelatedJobIndex.MAX_RELATED).contains(2L));
+
+        index.remove(newest);
+
+        List<Long> related = index.relatedTo(1, RelatedJobIndex.MAX_RELATED);
+        assertEquals(RelatedJobIndex.MAX_RELATED, related.size());
+        assertFalse(related.contains(newest));
+        assertTrue(related.contains(2L));
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.Job.search;
+
+import com.example.Job.constant.SuggestionTypeEnum;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SuggestionTrieTest {
+
+    @Test
+    void suggest_prefixOfAnyWord_unaccented_heaviestFirst() {
+        SuggestionTrie trie = new SuggestionTrie();
+        trie.put(title("Kế toán tổng hợp", 3));
+        trie.put(title("Kế toán thuế", 5));
+        trie.put(title("Kỹ sư phần mềm", 9));
+
+        assertEquals(List.of("Kế toán thuế", "Kế toán tổng hợp"), texts(trie.suggest("ke to", 10)));
+        assertEquals(List.of("Kế toán tổng hợp"), texts(trie.suggest("TONG", 10)));
+        assertEquals(List.of("Kỹ sư phần mềm", "Kế toán thuế"), texts(trie.suggest("k", 2)));
+        assertEquals(List.of(), trie.suggest("java", 10));
+        assertEquals(List.of(), trie.suggest("  ", 10));
+    }
+
+    @Test
+    void put_sameKey_updatesTheWeight() {
+        SuggestionTrie trie = new SuggestionTrie();
+        trie.put(title("Java developer", 1));
+        trie.put(title("Java tester", 2));
+
+        trie.put(title("Java developer", 10));
+
+        assertEquals(List.of("Java developer", "Java tester"), texts(trie.suggest("java", 10)));
+        assertEquals(2, trie.size());
+    }
+
+    @Test
+    void remove_dropsEveryForm() {
+        SuggestionTrie trie = new SuggestionTrie();
+        trie.put(title("Java developer", 1));
+        trie.put(title("Go developer", 2));
+
+        trie.remove(key("Java developer"));
+
+        assertEquals(List.of(), trie.suggest("java", 10));
+        assertEquals(List.of("Go developer"), texts(trie.suggest("dev", 10)));
+        assertEquals(1, trie.size());
+    }
+
+    @Test
+    void suggest_keepsTopKPerNode() {
+        SuggestionTrie trie = new SuggestionTrie();
+        for (int weight = 1; weight <= SuggestionTrie.TOP_K + 5; weight++) {
+            trie.put(title("Developer " + weight, weight));
+        }
+
+        List<Suggestion> top = trie.suggest("dev", SuggestionTrie.TOP_K);
+        assertEquals(SuggestionTrie.TOP_K, top.size());
+        assertEquals(SuggestionTrie.TOP_K + 5, top.get(0).getWeight());
+    }
+
+    private static Suggestion title(String text, long weight) {
+        return new Suggestion(key(text), text, SuggestionTypeEnum.JOB_TITLE, null, weight);
+    }
+
+    private static String key(String text) {
+        return SuggestionTypeEnum.JOB_TITLE + ":" + text;
+    }
+
+    private static List<String> texts(List<Suggestion> suggestions) {
+        return suggestions.stream().map(Suggestion::getText).toList();
+    }
+}
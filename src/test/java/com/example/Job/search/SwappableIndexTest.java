@@ -0,0 +1,49 @@
+package com.example.Job.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SwappableIndexTest {
+
+    @Test
+    void rebuild_replaysChangesAppliedDuringTheBuild() {
+        SwappableIndex<List<Long>> index = new SwappableIndex<>(new ArrayList<>(List.of(1L)));
+
+        List<Long> built = index.rebuild(() -> {
+            List<Long> rows = new ArrayList<>(List.of(1L));
+            // Committed after the rebuild read its page
+            index.apply(current -> current.add(2L));
+            return rows;
+        });
+
+        assertSame(built, index.get());
+        assertEquals(List.of(1L, 2L), index.get());
+    }
+
+    @Test
+    void rebuild_failure_keepsTheLiveCopy() {
+        List<Long> live = new ArrayList<>(List.of(1L));
+        SwappableIndex<List<Long>> index = new SwappableIndex<>(live);
+
+        assertThrows(IllegalStateException.class, () -> index.rebuild(() -> {
+            throw new IllegalStateException("DB down");
+        }));
+        index.apply(current -> current.add(2L));
+
+        assertSame(live, index.get());
+        assertEquals(List.of(1L, 2L), live);
+    }
+
+    @Test
+    void apply_beforeFirstBuild_isDropped() {
+        SwappableIndex<List<Long>> index = new SwappableIndex<>(null);
+
+        index.apply(current -> current.add(1L));
+
+        assertNull(index.get());
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.Job.security;
+
+import com.nimbusds.jose.jwk.source.ImmutableSecret;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.oauth2.jwt.*;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Authentication work of one request carrying an access token that was seen before:
+// - old: the resource server verifies the token, then JwtUtil.extractUserIdFromToken() decodes it again
+// - new: VerifiedJwtCache serves the verified Jwt, AuthenticatedUserJwtConverter reads the user claim once
+// Not a unit test, surefire skips it: run its main method on the test classpath after mvn test-compile.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtAuthenticationBenchmark {
+
+    private JwtDecoder jwtDecoder;
+    private JwtAuthenticationConverter defaultConverter;
+    private AuthenticatedUserJwtConverter userConverter;
+    private VerifiedJwtCache verifiedJwtCache;
+
+    private String token;
+
+    @Setup
+    public void setUp() {
+        byte[] keyBytes = new byte[64];
+        new SecureRandom().nextBytes(keyBytes);
+        SecretKey key = new SecretKeySpec(keyBytes, JwtUtil.JWT_ALGORITHM.getName());
+
+        jwtDecoder = NimbusJwtDecoder.withSecretKey(key).macAlgorithm(JwtUtil.JWT_ALGORITHM).build();
+        defaultConverter = new JwtAuthenticationConverter();
+
+        JwtGrantedAuthoritiesConverter grantedAuthoritiesConverter = new JwtGrantedAuthoritiesConverter();
+        grantedAuthoritiesConverter.setAuthorityPrefix("");
+        grantedAuthoritiesConverter.setAuthoritiesClaimName("authorities");
+        userConverter = new AuthenticatedUserJwtConverter(grantedAuthoritiesConverter);
+
+        Instant now = Instant.now();
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+                .issuedAt(now)
+                .expiresAt(now.plus(1, ChronoUnit.DAYS))
+                .subject("user@example.com")
+                .claim("user", Map.of("id", 7, "email", "user@example.com", "name", "Nguyễn Văn A", "role", "USER"))
+                .build();
+        token = new NimbusJwtEncoder(new ImmutableSecret<>(key))
+                .encode(JwtEncoderParameters.from(JwsHeader.with(JwtUtil.JWT_ALGORITHM).build(), claims))
+                .getTokenValue();
+
+        // The token was used before: the new path serves it from the cache
+        verifiedJwtCache = new VerifiedJwtCache(10_000);
+        verifiedJwtCache.getOrVerify(token, jwtDecoder::decode);
+    }
+
+    @Benchmark
+    public String oldPerRequestDecode() {
+        Jwt jwt = jwtDecoder.decode(token);
+        AbstractAuthenticationToken authentication = defaultConverter.convert(jwt);
+
+        // extractUserIdFromToken() before: getAccessToken(), then decode it again to read the user claim
+        String accessToken = ((Jwt) authentication.getPrincipal()).getTokenValue();
+        Map<String, Object> userClaim = jwtDecoder.decode(accessToken).getClaim("user");
+        return userClaim.get("id").toString();
+    }
+
+    @Benchmark
+    public String newCachedTokenAndTypedUser() {
+        Jwt jwt = verifiedJwtCache.getOrVerify(token, jwtDecoder::decode);
+        AuthenticatedUserToken authentication = (AuthenticatedUserToken) userConverter.convert(jwt);
+
+        return String.valueOf(authentication.getUser().getId());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JwtAuthenticationBenchmark.class.getSimpleName()).build()).run();
+    }
+}
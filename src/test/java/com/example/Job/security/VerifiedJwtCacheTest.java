@@ -0,0 +1,100 @@
+package com.example.Job.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VerifiedJwtCacheTest {
+
+    private final AtomicInteger verifications = new AtomicInteger();
+
+    @Test
+    void getOrVerify_verifiesATokenOnce() {
+        VerifiedJwtCache cache = new VerifiedJwtCache(10);
+        Function<String, Jwt> verifier = verifier(Instant.now().plusSeconds(60));
+
+        Jwt first = cache.getOrVerify("token", verifier);
+        Jwt second = cache.getOrVerify("token", verifier);
+
+        assertSame(first, second);
+        assertEquals(1, verifications.get());
+    }
+
+    @Test
+    void getOrVerify_expiredOrWithoutExp_verifiedAgain() {
+        VerifiedJwtCache cache = new VerifiedJwtCache(10);
+
+        cache.getOrVerify("expired", verifier(Instant.now().minusSeconds(1)));
+        cache.getOrVerify("expired", verifier(Instant.now().minusSeconds(1)));
+        cache.getOrVerify("no-exp", verifier(null));
+        cache.getOrVerify("no-exp", verifier(null));
+
+        assertEquals(4, verifications.get());
+    }
+
+    @Test
+    void getOrVerify_leastRecentlyUsedEvicted() {
+        VerifiedJwtCache cache = new VerifiedJwtCache(2);
+        Function<String, Jwt> verifier = verifier(Instant.now().plusSeconds(60));
+
+        cache.getOrVerify("a", verifier);
+        cache.getOrVerify("b", verifier);
+        cache.getOrVerify("a", verifier);
+        cache.getOrVerify("c", verifier);
+        cache.getOrVerify("a", verifier);
+        cache.getOrVerify("b", verifier);
+
+        assertEquals(2, cache.size());
+        // a, b, c and b again after its eviction
+        assertEquals(4, verifications.get());
+    }
+
+    @Test
+    void revoke_rejectsTheCachedToken() {
+        VerifiedJwtCache cache = new VerifiedJwtCache(10);
+        Instant expiresAt = Instant.now().plusSeconds(60);
+        cache.getOrVerify("token", verifier(expiresAt));
+
+        cache.revoke("token", expiresAt);
+
+        assertThrows(BadJwtException.class, () -> cache.getOrVerify("token", verifier(expiresAt)));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void revokeFingerprint_fromAnotherNode_rejectsTheToken() {
+        VerifiedJwtCache cache = new VerifiedJwtCache(10);
+        Instant expiresAt = Instant.now().plusSeconds(60);
+        cache.getOrVerify("token", verifier(expiresAt));
+
+        cache.revokeFingerprint(VerifiedJwtCache.fingerprint("token"), expiresAt);
+
+        assertThrows(BadJwtException.class, () -> cache.getOrVerify("token", verifier(expiresAt)));
+        cache.getOrVerify("other", verifier(expiresAt));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void revoke_pastItsExpiry_forgotten() {
+        VerifiedJwtCache cache = new VerifiedJwtCache(10);
+
+        cache.revoke("token", Instant.now().minusSeconds(1));
+
+        assertDoesNotThrow(() -> cache.getOrVerify("token", verifier(Instant.now().plusSeconds(60))));
+    }
+
+    private Function<String, Jwt> verifier(Instant expiresAt) {
+        return token -> {
+            verifications.incrementAndGet();
+            Jwt.Builder jwt = Jwt.withTokenValue(token).header("alg", "HS512").subject("user");
+            if (expiresAt != null) jwt.expiresAt(expiresAt);
+            return jwt.build();
+        };
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.Job.service.Impl;
+
+import com.example.Job.constant.JobStatusEnum;
+import com.example.Job.models.dtos.JobFilter;
+import com.example.Job.repository.JobRepository;
+import com.example.Job.service.IRedisService;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.Collection;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class JobSearchCacheServiceImplTest {
+
+    private final IRedisService redisService = mock(IRedisService.class);
+    private final JobSearchCacheServiceImpl searchCacheService = new JobSearchCacheServiceImpl(redisService, mock(JobRepository.class));
+
+    @Test
+    void searchKey_pagesOfOneQuery_differOnlyByTheirLastPart() {
+        JobFilter filter = JobFilter.builder().keyword("java").build();
+
+        String firstPage = searchCacheService.searchKey(filter, 0, 10, "createdAt", false);
+        String secondPage = searchCacheService.searchKey(filter, 1, 10, "createdAt", false);
+
+        assertNotEquals(firstPage, secondPage);
+        assertEquals(firstPage.substring(0, firstPage.lastIndexOf("|page=")), secondPage.substring(0, secondPage.lastIndexOf("|page=")));
+    }
+
+    @Test
+    void onJobStatusChanged_jobLeavesSearch_evictsEveryPageOfItsQueries() {
+        String firstPage = searchCacheService.searchKey(JobFilter.builder().keyword("java").build(), 0, 10, null, false);
+        String secondPage = searchCacheService.searchKey(JobFilter.builder().keyword("java").build(), 1, 10, null, false);
+        String queryIndexKey = "jobfilter:keysByExpiryOfQuery:" + firstPage.substring(0, firstPage.lastIndexOf("|page="));
+
+        // Job 7 was only on the first page, the second page shifts when it leaves
+        when(redisService.getSortedSet("jobfilter:keysByExpiryOfJob:7", String.class)).thenReturn(Set.of(queryIndexKey));
+        when(redisService.getSortedSet(queryIndexKey, String.class)).thenReturn(Set.of(firstPage, secondPage));
+
+        searchCacheService.onJobStatusChanged(7L, JobStatusEnum.CLOSED);
+
+        ArgumentCaptor<Collection<String>> deleted = ArgumentCaptor.captor();
+        verify(redisService, atLeastOnce()).delete(deleted.capture());
+        assertTrue(deleted.getAllValues().stream().anyMatch(keys ->
+                Set.copyOf(keys).equals(Set.of(firstPage, secondPage, queryIndexKey))));
+        verify(redisService).delete("jobfilter:keysByExpiryOfJob:7");
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.Job.service.Impl;
+
+import com.example.Job.entity.Job;
+import com.example.Job.exception.ResourceNotFoundException;
+import com.example.Job.mapper.JobMapper;
+import com.example.Job.models.dtos.GetJobResponse;
+import com.example.Job.models.dtos.JobFilter;
+import com.example.Job.models.dtos.JobSearchCursor;
+import com.example.Job.models.dtos.JobSearchCacheEntry;
+import com.example.Job.repository.CompanyRepository;
+import com.example.Job.repository.JobRepository;
+import com.example.Job.security.JwtUtil;
+import com.example.Job.service.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class JobServiceImplTest {
+
+    private final IJobSaveService jobSaveService = mock(IJobSaveService.class);
+    private final IJobSearchCacheService jobSearchCacheService = mock(IJobSearchCacheService.class);
+    private final IJobIndexService jobIndexService = mock(IJobIndexService.class);
+    private final IRelatedJobService relatedJobService = mock(IRelatedJobService.class);
+    private final JobRepository jobRepository = mock(JobRepository.class);
+    private final JobMapper jobMapper = mock(JobMapper.class);
+    private final IApplyService applyService = mock(IApplyService.class);
+    private final IJobDetailCacheService jobDetailCacheService = mock(IJobDetailCacheService.class);
+
+    private JobServiceImpl jobService;
+
+    @BeforeEach
+    void setUp() {
+        jobService = new JobServiceImpl(jobRepository, jobMapper, mock(CompanyRepository.class),
+                jobSaveService, mock(JwtUtil.class), applyService, mock(IOutboxService.class),
+                jobSearchCacheService, jobIndexService, mock(ISuggestionService.class), relatedJobService,
+                jobDetailCacheService);
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("user", null, AuthorityUtils.NO_AUTHORITIES));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void searchForJobs_sharedCachedRow_eachUserGetsOwnSavedFlag() {
+        // The cache hands the same row instance to every request, as the near cache used to
+        GetJobResponse sharedRow = GetJobResponse.builder().id(7L).name("Java developer").build();
+        when(jobIndexService.isEnabled()).thenReturn(false);
+        when(jobSearchCacheService.searchKey(any(), anyInt(), anyInt(), any(), anyBoolean())).thenReturn("key");
+        when(jobSearchCacheService.getSearchResult("key")).thenReturn(new JobSearchCacheEntry(List.of(7L), 1));
+        when(jobSearchCacheService.getJobResponses(List.of(7L))).thenReturn(List.of(sharedRow));
+        // First user saved the job, second one did not
+        when(jobSaveService.areJobsSaved(any())).thenReturn(Map.of(7L, true), Map.of(7L, false));
+
+        Page<GetJobResponse> firstUserPage = jobService.searchForJobs(0, 10, null, false, JobFilter.builder().build());
+        Page<GetJobResponse> secondUserPage = jobService.searchForJobs(0, 10, null, false, JobFilter.builder().build());
+
+        assertTrue(firstUserPage.getContent().get(0).isSaved());
+        assertFalse(secondUserPage.getContent().get(0).isSaved());
+        assertFalse(sharedRow.isSaved());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void getRelatedJob_indexedWithoutSimilarJob_fallsBackToFullText() {
+        Job job = new Job();
+        job.setId(8L);
+        GetJobResponse row = GetJobResponse.builder().id(8L).name("Java developer").build();
+        when(relatedJobService.getRelatedJobIds(7L, 5)).thenReturn(List.of());
+        when(jobRepository.findAll(any(Specification.class), any(Pageable.class))).thenReturn(new PageImpl<>(List.of(job)));
+        when(jobMapper.toGetJobResponse(job)).thenReturn(row);
+
+        List<GetJobResponse> related = jobService.getRelatedJob(7L, "Java developer", 5);
+
+        assertEquals(List.of(row), related);
+        verify(jobSearchCacheService, never()).getJobResponses(any());
+    }
+
+    @Test
+    void getJobDetailWithCompanyById_unknownJob_startsNoUserLookup() {
+        when(jobRepository.findById(9L)).thenReturn(Optional.empty());
+        // The cache misses and runs the loader
+        when(jobDetailCacheService.getJobDetailWithCompany(anyLong(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
+
+        assertThrows(ResourceNotFoundException.class, () -> jobService.getJobDetailWithCompanyById(9L));
+        verify(jobSaveService, never()).isJobSavedAsync(any());
+        verify(applyService, never()).findJobApplyByJobId(anyLong());
+    }
+
+    @Test
+    void searchForJobsByCursor_unsupportedSortOrMismatchedCursor_isBadRequest() {
+        String ascendingCursor = new JobSearchCursor("createdAt", true, "2026-01-01T00:00:00Z", null, 7L).encode();
+
+        // IllegalArgumentException is mapped to 400 by GlobalExceptionHandler
+        assertThrows(IllegalArgumentException.class,
+                () -> jobService.searchForJobsByCursor(10, "name", true, JobFilter.builder().build(), null));
+        assertThrows(IllegalArgumentException.class,
+                () -> jobService.searchForJobsByCursor(10, "createdAt", false, JobFilter.builder().build(), ascendingCursor));
+    }
+}
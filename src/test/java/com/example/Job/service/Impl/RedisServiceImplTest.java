@@ -0,0 +1,114 @@
+package com.example.Job.service.Impl;
+
+import com.example.Job.config.RedisTrackingNearCache;
+import com.example.Job.models.dtos.GetJobResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RedisServiceImplTest {
+
+    @SuppressWarnings("unchecked")
+    private final RedisTemplate<String, Object> redisTemplate = mock(RedisTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final RedisTemplate<String, Object> cacheRedisTemplate = mock(RedisTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final ReactiveRedisTemplate<String, Object> reactiveRedisTemplate = mock(ReactiveRedisTemplate.class);
+
+    @SuppressWarnings("unchecked")
+    private RedisServiceImpl redisServiceWithRedisDown() {
+        // Every Redis call fails, reads are served from the near cache
+        when(redisTemplate.opsForValue()).thenThrow(new IllegalStateException("Redis down"));
+        when(cacheRedisTemplate.opsForValue()).thenThrow(new IllegalStateException("Redis down"));
+        when(cacheRedisTemplate.execute(any(RedisCallback.class))).thenThrow(new IllegalStateException("Redis down"));
+        when(reactiveRedisTemplate.opsForSet()).thenThrow(new IllegalStateException("Redis down"));
+
+        return redisService(new GenericJackson2JsonRedisSerializer());
+    }
+
+    private RedisServiceImpl redisService(RedisSerializer<Object> valueSerializer) {
+        return new RedisServiceImpl(redisTemplate, cacheRedisTemplate, reactiveRedisTemplate,
+                new ObjectMapper(), mock(RedisMessageListenerContainer.class), CircuitBreakerRegistry.ofDefaults(),
+                100, new RedisTrackingNearCache(false, null, List.of(), 100), valueSerializer);
+    }
+
+    @Test
+    void get_fromNearCache_returnsIndependentCopies() {
+        RedisServiceImpl redisService = redisServiceWithRedisDown();
+        GetJobResponse row = GetJobResponse.builder().id(7L).name("Java developer").build();
+        redisService.set("getjobresponse:id:7", row, Duration.ofMinutes(1));
+
+        GetJobResponse firstRead = redisService.get("getjobresponse:id:7", GetJobResponse.class);
+        firstRead.setSaved(true);
+        GetJobResponse secondRead = redisService.get("getjobresponse:id:7", GetJobResponse.class);
+
+        assertNotSame(firstRead, secondRead);
+        assertFalse(secondRead.isSaved());
+        assertEquals("Java developer", secondRead.getName());
+    }
+
+    @Test
+    void set_laterChangesOfTheValue_doNotReachNearCache() {
+        RedisServiceImpl redisService = redisServiceWithRedisDown();
+        GetJobResponse row = GetJobResponse.builder().id(7L).build();
+        redisService.set("getjobresponse:id:7", row, Duration.ofMinutes(1));
+
+        row.setSaved(true);
+
+        List<GetJobResponse> rows = redisService.multiGet(List.of("getjobresponse:id:7"), GetJobResponse.class);
+        assertFalse(rows.get(0).isSaved());
+    }
+
+    @Test
+    void areMembersOfSetAsync_redisDown_completesWithNull() {
+        RedisServiceImpl redisService = redisServiceWithRedisDown();
+
+        // null tells the caller to fall back to the DB, like the blocking variant
+        assertNull(redisService.areMembersOfSetAsync("jobsave:userId:1", List.of(0L, 7L)).join());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void get_fromRedis_keepsTheReadBytesWithoutEncodingAgain() {
+        RedisSerializer<Object> valueSerializer = spy(new GenericJackson2JsonRedisSerializer());
+        byte[] bytes = new GenericJackson2JsonRedisSerializer().serialize(GetJobResponse.builder().id(7L).build());
+        when(cacheRedisTemplate.execute(any(RedisCallback.class))).thenReturn(bytes)
+                .thenThrow(new IllegalStateException("Redis down"));
+        RedisServiceImpl redisService = redisService(valueSerializer);
+
+        assertEquals(7L, redisService.get("getjobresponse:id:7", GetJobResponse.class).getId());
+        // Served from the bytes kept by the first read
+        assertEquals(7L, redisService.get("getjobresponse:id:7", GetJobResponse.class).getId());
+        verify(valueSerializer, never()).serialize(any());
+    }
+
+    @Test
+    void delete_exists_redisDown_fallBackInsteadOfThrowing() {
+        when(redisTemplate.delete(anyString())).thenThrow(new IllegalStateException("Redis down"));
+        when(cacheRedisTemplate.hasKey(anyString())).thenThrow(new IllegalStateException("Redis down"));
+        when(redisTemplate.expire(anyString(), any(Duration.class))).thenThrow(new IllegalStateException("Redis down"));
+        RedisServiceImpl redisService = redisService(new GenericJackson2JsonRedisSerializer());
+
+        assertFalse(redisService.delete("jwt:revoked:token"));
+        assertFalse(redisService.exists("jwt:revoked:token"));
+        assertDoesNotThrow(() -> redisService.setExpiration("jwt:revoked:token", Duration.ofMinutes(1)));
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.Job.service.Impl;
+
+import com.example.Job.config.RedisConfig;
+import com.example.Job.entity.JobSave;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+// Throughput of the per-user part of getJobDetailWithCompanyById under concurrent requests:
+// the saved flag (SMISMEMBER on the user's saved job set) next to the apply lookup,
+// stood in for by a blocking GET so only Redis is needed.
+// - blocking: both lookups one after the other on the request thread
+// - executor: saved flag on a 16-thread pool like userLookupExecutor, apply lookup on the request thread
+// - reactive: saved flag through ReactiveRedisTemplate (IRedisService.areMembersOfSetAsync), apply lookup on the request thread
+// Needs a running Redis, -Dbench.redis=localhost:6379 by default. Not a unit test, surefire skips it:
+// run its main method on the test classpath after mvn test-compile.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(32)
+@State(Scope.Benchmark)
+public class SavedJobLookupBenchmark {
+
+    private static final Long LOADED_MARKER = 0L;
+    private static final Long JOB_ID = 7L;
+    private static final String SAVED_KEY = RedisConfig.generateKey(JobSave.class, "userId", 1);
+    private static final String APPLY_KEY = "benchmark:apply:7";
+
+    private LettuceConnectionFactory connectionFactory;
+    private RedisTemplate<String, Object> redisTemplate;
+    private ReactiveRedisTemplate<String, Object> reactiveRedisTemplate;
+    private ExecutorService userLookupExecutor;
+
+    @Setup
+    public void setUp() {
+        String[] hostAndPort = System.getProperty("bench.redis", "localhost:6379").split(":");
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(hostAndPort[0], Integer.parseInt(hostAndPort[1])));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+
+        GenericJackson2JsonRedisSerializer valueSerializer = new GenericJackson2JsonRedisSerializer();
+        redisTemplate = new RedisTemplate<>();
+        redisTemplate.setConnectionFactory(connectionFactory);
+        redisTemplate.setKeySerializer(new StringRedisSerializer());
+        redisTemplate.setValueSerializer(valueSerializer);
+        redisTemplate.afterPropertiesSet();
+        reactiveRedisTemplate = new ReactiveRedisTemplate<>(connectionFactory, RedisSerializationContext
+                .<String, Object>newSerializationContext(new StringRedisSerializer())
+                .value(valueSerializer)
+                .build());
+
+        redisTemplate.opsForSet().add(SAVED_KEY, LOADED_MARKER, JOB_ID, 8L, 9L);
+        redisTemplate.opsForValue().set(APPLY_KEY, "2026-01-01T00:00:00Z");
+        userLookupExecutor = Executors.newFixedThreadPool(16);
+    }
+
+    @TearDown
+    public void tearDown() {
+        redisTemplate.delete(SAVED_KEY);
+        redisTemplate.delete(APPLY_KEY);
+        userLookupExecutor.shutdown();
+        connectionFactory.destroy();
+    }
+
+    @Benchmark
+    public Object blocking() {
+        Object isSaved = redisTemplate.opsForSet().isMember(SAVED_KEY, LOADED_MARKER, JOB_ID);
+        Object applied = redisTemplate.opsForValue().get(APPLY_KEY);
+        return isSaved != null ? applied : null;
+    }
+
+    @Benchmark
+    public Object executor() {
+        CompletableFuture<Object> isSaved = CompletableFuture.supplyAsync(
+                () -> redisTemplate.opsForSet().isMember(SAVED_KEY, LOADED_MARKER, JOB_ID), userLookupExecutor);
+        Object applied = redisTemplate.opsForValue().get(APPLY_KEY);
+        return isSaved.join() != null ? applied : null;
+    }
+
+    @Benchmark
+    public Object reactive() {
+        CompletableFuture<?> isSaved = reactiveRedisTemplate.opsForSet().isMember(SAVED_KEY, LOADED_MARKER, JOB_ID).toFuture();
+        Object applied = redisTemplate.opsForValue().get(APPLY_KEY);
+        return isSaved.join() != null ? applied : null;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(SavedJobLookupBenchmark.class.getSimpleName()).build()).run();
+    }
+}